@@ -0,0 +1,98 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Column;
+import com.seailz.databaseapi.ColumnType;
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.annotation.builder.SqliteBuilder;
+import com.seailz.databaseapi.annotation.builder.TableBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Creates throwaway SQLite databases filled with a {@code players} table for the benchmarks
+ *
+ * @author Seailz
+ */
+public final class BenchmarkDatabase {
+
+    public static final String TABLE = "players";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Create and connect a new database in a temporary file
+     *
+     * @param maxConnections The maximum size of the connection pool
+     * @return a connected {@link Database}
+     */
+    public static Database create(int maxConnections) throws IOException {
+        return create(maxConnections, SqliteBuilder.balanced());
+    }
+
+    /**
+     * Create and connect a new database in a temporary file
+     *
+     * @param maxConnections The maximum size of the connection pool
+     * @param sqlite         How the file is opened, or null for SQLite's defaults
+     * @return a connected {@link Database}
+     */
+    public static Database create(int maxConnections, SqliteBuilder sqlite) throws IOException {
+        File file = File.createTempFile("database4j-bench", ".db");
+        file.deleteOnExit();
+
+        Database database = new Database(file);
+        database.getPoolSettings().maxSize(maxConnections);
+        database.setSqliteSettings(sqlite);
+        database.connect();
+        return database;
+    }
+
+    /**
+     * Create the {@code players} table and insert some rows into it
+     *
+     * @param database The database to fill
+     * @param rows     The amount of rows to insert
+     */
+    public static void fill(Database database, int rows) throws SQLException {
+        TableBuilder table = new TableBuilder(TABLE, new ArrayList<>());
+        table.addColumn(new Column(ColumnType.VARCHAR, "name"));
+        table.addColumn(new Column(ColumnType.INT, "xp"));
+        table.addColumn(new Column(ColumnType.INT, "level"));
+        table.setPrimaryKey("name");
+        database.createTable(table);
+
+        List<HashMap<String, String>> values = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            HashMap<String, String> row = new HashMap<>();
+            row.put("name", name(i));
+            row.put("xp", String.valueOf(i * 10));
+            row.put("level", String.valueOf(i % 100));
+            values.add(row);
+        }
+        database.insertBatch(TABLE, values);
+    }
+
+    /**
+     * @param index The index of the player
+     * @return the name of the player at that index
+     */
+    public static String name(int index) {
+        return "player-" + index;
+    }
+
+    /**
+     * Disconnect and delete a benchmark database
+     *
+     * @param database The database to remove
+     */
+    public static void destroy(Database database) {
+        database.disconnect();
+        database.getSqlLiteFile().delete();
+    }
+}
@@ -0,0 +1,35 @@
+package com.seailz.databaseapi.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the release suite with the allocation profiler and saves the results as JSON,
+ * so two releases can be compared by diffing their files (or loading both into a JMH visualizer).
+ * <p></p>
+ * <p>{@code java -cp benchmarks/target/benchmarks.jar com.seailz.databaseapi.benchmark.BenchmarkRunner 2.2.2 [regex]}</p>
+ * <p>writes {@code jmh-2.2.2.json} into the working directory.</p>
+ *
+ * @author Seailz
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String label = args.length > 0 ? args[0] : "snapshot";
+        String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackage().getName() + ".*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-" + label + ".json")
+                .build();
+        new Runner(options).run();
+    }
+}
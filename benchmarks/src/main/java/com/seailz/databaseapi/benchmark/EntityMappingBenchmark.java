@@ -0,0 +1,82 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.annotation.Column;
+import com.seailz.databaseapi.annotation.DontSave;
+import com.seailz.databaseapi.annotation.constructor.DatabaseConstructor;
+import com.seailz.databaseapi.mapping.EntityMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached {@link EntityMetadata} mappers with the per-call reflection the Database used to do.
+ * No database is involved, so this only measures the mapping itself.
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityMappingBenchmark {
+
+    private final Player player = new Player("player-1", 100, 5);
+    private final Object[] row = {"player-1", 100, 5};
+
+    @Benchmark
+    public HashMap<String, String> extractReflection() throws IllegalAccessException {
+        HashMap<String, String> values = new HashMap<>();
+        for (Field field : player.getClass().getDeclaredFields()) {
+            if (field.isAnnotationPresent(DontSave.class)) continue;
+            String key = field.isAnnotationPresent(Column.class) ? field.getAnnotation(Column.class).value() : field.getName();
+            field.setAccessible(true);
+            Object value = field.get(player);
+            values.put(key, value == null ? null : value.toString());
+        }
+        return values;
+    }
+
+    @Benchmark
+    public HashMap<String, String> extractMetadata() {
+        return EntityMetadata.of(Player.class).values(player);
+    }
+
+    @Benchmark
+    public Object constructReflection() throws Exception {
+        Constructor<?> constructor = null;
+        for (Constructor<?> candidate : Player.class.getConstructors()) {
+            candidate.setAccessible(true);
+            if (candidate.isAnnotationPresent(DatabaseConstructor.class))
+                constructor = candidate;
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        int i = 0;
+        for (Parameter parameter : constructor.getParameters()) {
+            if (parameter.isAnnotationPresent(Column.class))
+                parameters.add(row[i++]);
+        }
+        return constructor.newInstance(parameters.toArray());
+    }
+
+    @Benchmark
+    public Object constructMetadata() throws Exception {
+        return EntityMetadata.of(Player.class).newInstance(row.clone());
+    }
+}
@@ -0,0 +1,66 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.annotation.builder.ExportBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exporting a whole table with {@link Database#exportToCSV(String, String, ExportBuilder)}
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"plain", "parallel", "gzip"})
+    private String mode;
+
+    private Database database;
+    private File file;
+    private ExportBuilder settings;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(1);
+        BenchmarkDatabase.fill(database, rows);
+        file = File.createTempFile("database4j-export", ".csv");
+        file.deleteOnExit();
+        settings = new ExportBuilder()
+                .parallel(mode.equals("parallel"))
+                .gzip(mode.equals("gzip"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+        file.delete();
+    }
+
+    @Benchmark
+    public long exportToCSV() throws Exception {
+        return database.exportToCSV(BenchmarkDatabase.TABLE, file.getPath(), settings);
+    }
+}
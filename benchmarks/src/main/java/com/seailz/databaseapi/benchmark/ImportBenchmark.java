@@ -0,0 +1,79 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.annotation.builder.ExportBuilder;
+import com.seailz.databaseapi.annotation.builder.ImportBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing a whole table with {@link Database#importFromCSV(String, String, ImportBuilder)}.
+ * The table is emptied before each import, outside of the measured time.
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"plain", "parallel", "gzip"})
+    private String mode;
+
+    private Database database;
+    private File file;
+    private ImportBuilder settings;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(1);
+        BenchmarkDatabase.fill(database, rows);
+        file = File.createTempFile("database4j-import", ".csv");
+        file.deleteOnExit();
+        database.exportToCSV(BenchmarkDatabase.TABLE, file.getPath(), new ExportBuilder().gzip(mode.equals("gzip")));
+        settings = new ImportBuilder()
+                .parallel(mode.equals("parallel"))
+                .gzip(mode.equals("gzip"));
+    }
+
+    @Setup(Level.Invocation)
+    public void empty() throws Exception {
+        database.withConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                return statement.executeUpdate("DELETE FROM `" + BenchmarkDatabase.TABLE + "`");
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+        file.delete();
+    }
+
+    @Benchmark
+    public long importFromCSV() throws Exception {
+        return database.importFromCSV(BenchmarkDatabase.TABLE, file.getPath(), settings).getImported();
+    }
+}
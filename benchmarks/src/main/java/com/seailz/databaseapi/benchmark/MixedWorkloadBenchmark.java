@@ -0,0 +1,67 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a read-heavy workload where keyed reads run alongside upserts on the same pooled {@link Database}.
+ * JMH reports each side of the group on its own, so contention shows up as the readers slowing down.
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Group)
+public class MixedWorkloadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(8);
+        BenchmarkDatabase.fill(database, ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Object read() throws Exception {
+        String name = BenchmarkDatabase.name(ThreadLocalRandom.current().nextInt(ROWS));
+        return database.get(BenchmarkDatabase.TABLE, "name", name, Player.class);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void write() throws Exception {
+        int index = ThreadLocalRandom.current().nextInt(ROWS);
+        Player player = new Player(BenchmarkDatabase.name(index), ThreadLocalRandom.current().nextInt(), index % 100);
+        database.upsert(BenchmarkDatabase.TABLE, player, "name");
+    }
+}
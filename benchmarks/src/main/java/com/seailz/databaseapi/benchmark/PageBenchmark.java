@@ -0,0 +1,90 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.scan.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a page at some depth into a table with {@link Database#page(String, Class, String, Object, int)}
+ * against the same page read with {@code LIMIT ... OFFSET}
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PageBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int LIMIT = 100;
+
+    /**
+     * How far into the table the page starts, as a fraction of its rows
+     */
+    @Param({"0", "0.5", "0.99"})
+    private double depth;
+
+    private Database database;
+    private int offset;
+    private String afterValue;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(1);
+        BenchmarkDatabase.fill(database, ROWS);
+
+        offset = (int) (ROWS * depth);
+        // The key of the row just before the page, the way a cursor would have remembered it
+        afterValue = offset == 0 ? null : database.withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT `name` FROM `" + BenchmarkDatabase.TABLE + "` ORDER BY `name` LIMIT 1 OFFSET " + (offset - 1));
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    public Page<Player> keyset() throws Exception {
+        return database.page(BenchmarkDatabase.TABLE, Player.class, "name", afterValue, LIMIT);
+    }
+
+    @Benchmark
+    public int offset() throws Exception {
+        return database.withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + BenchmarkDatabase.TABLE + "` ORDER BY `name` LIMIT " + LIMIT + " OFFSET " + offset);
+                 ResultSet resultSet = statement.executeQuery()) {
+                int rows = 0;
+                while (resultSet.next()) {
+                    rows++;
+                }
+                return rows;
+            }
+        });
+    }
+}
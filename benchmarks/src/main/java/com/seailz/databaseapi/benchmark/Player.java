@@ -0,0 +1,35 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.annotation.Column;
+import com.seailz.databaseapi.annotation.constructor.DatabaseConstructor;
+
+/**
+ * The entity stored in the benchmark {@code players} table
+ *
+ * @author Seailz
+ */
+public class Player {
+
+    private final String name;
+    private final int xp;
+    private final int level;
+
+    @DatabaseConstructor
+    public Player(@Column("name") String name, @Column("xp") int xp, @Column("level") int level) {
+        this.name = name;
+        this.xp = xp;
+        this.level = level;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getXp() {
+        return xp;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+}
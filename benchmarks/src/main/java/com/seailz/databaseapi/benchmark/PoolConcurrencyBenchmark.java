@@ -0,0 +1,77 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how read throughput scales with the amount of threads sharing one pooled {@link Database}
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PoolConcurrencyBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(8);
+        BenchmarkDatabase.fill(database, ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object oneThread() throws Exception {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object twoThreads() throws Exception {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object fourThreads() throws Exception {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object eightThreads() throws Exception {
+        return lookup();
+    }
+
+    private Object lookup() throws Exception {
+        int index = ThreadLocalRandom.current().nextInt(ROWS);
+        return database.get(BenchmarkDatabase.TABLE, "name", BenchmarkDatabase.name(index), "xp");
+    }
+}
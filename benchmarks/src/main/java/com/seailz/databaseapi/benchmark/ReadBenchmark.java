@@ -0,0 +1,61 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the object-mapping reads: a keyed {@link Database#get(String, String, String, Class)}
+ * and a full-table {@link Database#getList(String, Class)}
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(1);
+        BenchmarkDatabase.fill(database, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    public Object get() throws Exception {
+        String name = BenchmarkDatabase.name(ThreadLocalRandom.current().nextInt(rows));
+        return database.get(BenchmarkDatabase.TABLE, "name", name, Player.class);
+    }
+
+    @Benchmark
+    public Object getList() throws Exception {
+        return database.getList(BenchmarkDatabase.TABLE, Player.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares reading a whole table on one cursor against {@link Database#parallelStream(String, Class)}
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ScanBenchmark {
+
+    private static final int ROWS = 200_000;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(Runtime.getRuntime().availableProcessors());
+        BenchmarkDatabase.fill(database, ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    public long stream() throws Exception {
+        try (Stream<Player> players = database.stream(BenchmarkDatabase.TABLE, Player.class)) {
+            return players.mapToLong(Player::getXp).sum();
+        }
+    }
+
+    @Benchmark
+    public long parallelStream() throws Exception {
+        try (Stream<Player> players = database.parallelStream(BenchmarkDatabase.TABLE, Player.class)) {
+            return players.mapToLong(Player::getXp).sum();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.annotation.builder.SqliteBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link SqliteBuilder} presets against SQLite's own defaults, with one thread writing
+ * single rows in autocommit while three others read.
+ * The {@code default} profile adds a long busy timeout, since without one readers fail while the writer holds the lock.
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Group)
+public class SqliteBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"default", "durable", "balanced", "bulkLoad"})
+    private String profile;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(4, settings());
+        BenchmarkDatabase.fill(database, ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void write() throws Exception {
+        HashMap<String, String> row = new HashMap<>();
+        row.put("xp", String.valueOf(ThreadLocalRandom.current().nextInt()));
+        database.replace(BenchmarkDatabase.TABLE, "name", randomName(), row);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Object read() throws Exception {
+        return database.get(BenchmarkDatabase.TABLE, "name", randomName(), "xp");
+    }
+
+    private SqliteBuilder settings() {
+        switch (profile) {
+            case "durable":
+                return SqliteBuilder.durable();
+            case "balanced":
+                return SqliteBuilder.balanced();
+            case "bulkLoad":
+                return SqliteBuilder.bulkLoad();
+            default:
+                return new SqliteBuilder()
+                        .journalMode("DELETE")
+                        .synchronous("FULL")
+                        .mmapSize(0)
+                        .cacheSize(2_000)
+                        .tempStore("DEFAULT")
+                        .busyTimeout(60_000)
+                        .singleWriter(false);
+        }
+    }
+
+    private static String randomName() {
+        return BenchmarkDatabase.name(ThreadLocalRandom.current().nextInt(ROWS));
+    }
+}
@@ -0,0 +1,92 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares small writes from many threads sent straight to the database against the same writes
+ * going through {@link Database#writeBehind()}, as seen by the writing threads. Writes to the same row coalesce,
+ * and once the buffer is full writers wait for flushes, so the score is bounded by how fast rows are actually written.
+ * The buffer is flushed after each iteration so nothing carries over.
+ * <p></p>
+ * <p>SQLite allows one writer at a time, so concurrent direct writes wait in turn for the single writer connection.</p>
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class WriteBehindBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(4);
+        BenchmarkDatabase.fill(database, ROWS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() {
+        database.writeBehind().flush().join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void direct() throws Exception {
+        database.upsert(BenchmarkDatabase.TABLE, row(), "name");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void directConcurrent() throws Exception {
+        database.upsert(BenchmarkDatabase.TABLE, row(), "name");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void writeBehind() {
+        database.writeBehind().upsert(BenchmarkDatabase.TABLE, row(), "name");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void writeBehindConcurrent() {
+        database.writeBehind().upsert(BenchmarkDatabase.TABLE, row(), "name");
+    }
+
+    private HashMap<String, String> row() {
+        int index = ThreadLocalRandom.current().nextInt(ROWS);
+        HashMap<String, String> row = new HashMap<>();
+        row.put("name", BenchmarkDatabase.name(index));
+        row.put("xp", String.valueOf(ThreadLocalRandom.current().nextInt()));
+        row.put("level", String.valueOf(index % 100));
+        return row;
+    }
+}
@@ -0,0 +1,81 @@
+package com.seailz.databaseapi.benchmark;
+
+import com.seailz.databaseapi.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-row inserts against batched {@link Database#insertList(String, List)} calls.
+ * Both write {@code batch} new rows per invocation, so their scores compare directly.
+ * The table is recreated before each iteration so it doesn't keep growing.
+ *
+ * @author Seailz
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class WriteBenchmark {
+
+    @Param({"100", "1000"})
+    private int batch;
+
+    private Database database;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = BenchmarkDatabase.create(1);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() throws Exception {
+        database.deleteTableIfExists(BenchmarkDatabase.TABLE);
+        BenchmarkDatabase.fill(database, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.destroy(database);
+    }
+
+    @Benchmark
+    public void insert() throws Exception {
+        for (int i = 0; i < batch; i++) {
+            long index = next++;
+            HashMap<String, String> row = new HashMap<>();
+            row.put("name", "insert-" + index);
+            row.put("xp", String.valueOf(index));
+            row.put("level", "1");
+            database.insert(BenchmarkDatabase.TABLE, row);
+        }
+    }
+
+    @Benchmark
+    public void insertList() {
+        List<Object> players = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            long index = next++;
+            players.add(new Player("batch-" + index, (int) index, 1));
+        }
+        database.insertList(BenchmarkDatabase.TABLE, players);
+    }
+}
@@ -1,29 +1,72 @@
 package com.seailz.databaseapi;
 
-import com.seailz.databaseapi.annotation.DontSave;
+import com.seailz.databaseapi.annotation.builder.AsyncBuilder;
+import com.seailz.databaseapi.annotation.builder.ExportBuilder;
+import com.seailz.databaseapi.annotation.builder.ImportBuilder;
 import com.seailz.databaseapi.annotation.builder.InsertBuilder;
 import com.seailz.databaseapi.annotation.builder.LoginBuilder;
 import com.seailz.databaseapi.annotation.builder.TableBuilder;
+import com.seailz.databaseapi.annotation.builder.WriteBehindBuilder;
 import com.seailz.databaseapi.annotation.builder.general.WhereBuilder;
-import com.seailz.databaseapi.annotation.constructor.DatabaseConstructor;
+import com.seailz.databaseapi.async.AsyncDatabase;
+import com.seailz.databaseapi.buffer.WriteBehindBuffer;
+import com.seailz.databaseapi.cache.CacheKey;
+import com.seailz.databaseapi.cache.EntityCache;
+import com.seailz.databaseapi.csv.CsvExporter;
+import com.seailz.databaseapi.csv.CsvImporter;
+import com.seailz.databaseapi.csv.ImportResult;
+import com.seailz.databaseapi.mapping.EntityMetadata;
+import com.seailz.databaseapi.mapping.EntityReader;
+import com.seailz.databaseapi.mapping.RowMapper;
+import com.seailz.databaseapi.mapping.ValueCodec;
+import com.seailz.databaseapi.metrics.DatabaseListener;
+import com.seailz.databaseapi.metrics.QueryEvent;
+import com.seailz.databaseapi.annotation.builder.PoolBuilder;
+import com.seailz.databaseapi.annotation.builder.SqliteBuilder;
+import com.seailz.databaseapi.pool.ConnectionCallback;
+import com.seailz.databaseapi.pool.ConnectionFactory;
+import com.seailz.databaseapi.pool.ConnectionPool;
+import com.seailz.databaseapi.pool.UncachedPreparer;
+import com.seailz.databaseapi.scan.Page;
+import com.seailz.databaseapi.scan.PageCursor;
+import com.seailz.databaseapi.scan.PartitionedScan;
+import com.seailz.databaseapi.schema.ColumnSchema;
+import com.seailz.databaseapi.schema.IndexAdvisor;
+import com.seailz.databaseapi.schema.IndexSchema;
+import com.seailz.databaseapi.schema.IndexSuggestion;
+import com.seailz.databaseapi.schema.SchemaCatalog;
+import com.seailz.databaseapi.schema.TableSchema;
+import com.seailz.databaseapi.session.Session;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>A way to interact with databases easier than JDBC.</p>
@@ -76,7 +119,6 @@ import java.util.stream.Collectors;
 public class Database {
 
     private boolean debug;
-    private boolean inTransaction;
 
     private String ip;
     private int port;
@@ -84,8 +126,71 @@ public class Database {
     private String password;
     private String databaseName;
     private File sqlLiteFile;
+    private int batchSize = 1000;
+    private int fetchSize = 1000;
+    /**
+     * The most keys {@link #getMany(String, String, Collection, Class)} puts in one {@code IN} list
+     */
+    private int chunkSize = 500;
+
+    private PoolBuilder poolSettings = new PoolBuilder();
+
+    @Setter(AccessLevel.NONE)
+    private ConnectionPool pool;
+
+    /**
+     * How SQLite files are opened. Set it to null to keep SQLite's own defaults.
+     * <p></p>
+     * <p>The default syncs every commit to disk. Use {@link SqliteBuilder#balanced()} to trade the last</p>
+     * <p>few commits on a power loss for faster writes.</p>
+     */
+    @Nullable
+    private SqliteBuilder sqliteSettings = SqliteBuilder.durable();
+
+    /**
+     * The single connection writes and transactions use, when {@link SqliteBuilder#isSingleWriter()} is set
+     */
+    @Nullable
+    @Setter(AccessLevel.NONE)
+    private ConnectionPool writerPool;
+
+    private AsyncBuilder asyncSettings = new AsyncBuilder();
+
+    @Nullable
+    private EntityCache cache;
 
-    private Connection connection;
+    /**
+     * Table and column metadata, so existence checks and column lookups are answered without asking the server
+     */
+    @Setter(AccessLevel.NONE)
+    private final SchemaCatalog catalog = new SchemaCatalog(this);
+
+    /**
+     * Records the columns rows are looked up by, when set
+     */
+    @Nullable
+    private IndexAdvisor indexAdvisor;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AsyncDatabase async;
+
+    private WriteBehindBuilder writeBehindSettings = new WriteBehindBuilder();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private WriteBehindBuffer writeBehind;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<Connection> transaction = new ThreadLocal<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<Set<String>> transactionWrites = ThreadLocal.withInitial(HashSet::new);
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<DatabaseListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Create a database instance with MySQL
@@ -149,35 +254,164 @@ public class Database {
 
     /**
      * Initiate the connection to the database
+     * <p></p>
+     * <p>This opens a connection pool configured by {@link #getPoolSettings()}, so make sure</p>
+     * <p>to change those before connecting. SQLite connections are tuned by {@link #getSqliteSettings()}.</p>
      */
     @SneakyThrows
     public void connect() {
         if (getSqlLiteFile() != null) {
             Class.forName("org.sqlite.JDBC");
-            connection = DriverManager.getConnection("jdbc:sqlite:" + getSqlLiteFile().getAbsolutePath());
+            String url = "jdbc:sqlite:" + getSqlLiteFile().getAbsolutePath();
+            SqliteBuilder sqlite = sqliteSettings;
+            ConnectionFactory factory = () -> {
+                Connection connection = DriverManager.getConnection(url);
+                if (sqlite != null)
+                    configureSqlite(connection, sqlite);
+                return connection;
+            };
+
+            pool = new ConnectionPool(poolSettings, factory);
+            if (sqlite != null && sqlite.isSingleWriter())
+                writerPool = new ConnectionPool(writerPoolSettings(), factory);
+            if (debug)
+                log("Connected to SQLite file: " + getSqlLiteFile() + (writerPool != null ? " with a single writer" : ""));
             return;
         }
 
-        connection = DriverManager.getConnection(
-                "jdbc:mysql://" + getIp() + ":" + getPort() + "/" + getDatabaseName(),
-                getUsername(),
-                getPassword()
-        );
+        String url = "jdbc:mysql://" + getIp() + ":" + getPort() + "/" + getDatabaseName() + "?rewriteBatchedStatements=true";
+        pool = new ConnectionPool(poolSettings, () -> DriverManager.getConnection(url, getUsername(), getPassword()));
 
         if (debug)
             log("Connected to database");
     }
 
+    /**
+     * Applies the SQLite settings to a new connection. The busy timeout comes first,
+     * so switching the journal mode waits for other connections instead of failing.
+     */
+    private static void configureSqlite(@NotNull Connection connection, @NotNull SqliteBuilder settings) throws SQLException {
+        try (java.sql.Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = " + settings.getBusyTimeout());
+            statement.execute("PRAGMA journal_mode = " + settings.getJournalMode());
+            statement.execute("PRAGMA synchronous = " + settings.getSynchronous());
+            statement.execute("PRAGMA mmap_size = " + settings.getMmapSize());
+            // A negative cache size is in KiB rather than pages
+            statement.execute("PRAGMA cache_size = " + -settings.getCacheSize());
+            statement.execute("PRAGMA temp_store = " + settings.getTempStore());
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the pool settings, limited to the one connection SQLite can write with at a time
+     */
+    private PoolBuilder writerPoolSettings() {
+        return new PoolBuilder()
+                .minSize(1)
+                .maxSize(1)
+                .idleTimeout(poolSettings.getIdleTimeout())
+                .maxLifetime(poolSettings.getMaxLifetime())
+                .borrowTimeout(poolSettings.getBorrowTimeout())
+                .evictionInterval(poolSettings.getEvictionInterval())
+                .validationTimeout(poolSettings.getValidationTimeout())
+                .validateOnBorrow(poolSettings.isValidateOnBorrow())
+                .statementCacheSize(poolSettings.getStatementCacheSize())
+                .leakDetectionThreshold(poolSettings.getLeakDetectionThreshold());
+    }
+
     /**
      * Disconnect from the database
      */
     @SneakyThrows
     public void disconnect() {
-        connection.close();
+        synchronized (this) {
+            // Buffered writes are flushed while the pool can still take them
+            if (writeBehind != null) {
+                writeBehind.close();
+                writeBehind = null;
+            }
+            if (async != null) {
+                async.close();
+                async = null;
+            }
+        }
+
+        if (writerPool != null) {
+            writerPool.close();
+            writerPool = null;
+        }
+        pool.close();
+        catalog.clear();
         if (debug)
             log("Disconnected from database");
     }
 
+    /**
+     * Get the asynchronous view of this database, which runs operations on a background executor
+     * configured by {@link #getAsyncSettings()}. The executor is created the first time this is called,
+     * and shut down by {@link #disconnect()}.
+     *
+     * @return an {@link AsyncDatabase}
+     */
+    public synchronized AsyncDatabase async() {
+        if (async == null)
+            async = new AsyncDatabase(this, asyncSettings);
+        return async;
+    }
+
+    /**
+     * Open a unit of work that tracks the objects it reads, and writes back only the columns that changed
+     *
+     * @return a new {@link Session}
+     */
+    public Session openSession() {
+        return new Session(this);
+    }
+
+    /**
+     * Get the write-behind buffer of this database, which queues writes and flushes them in batches
+     * configured by {@link #getWriteBehindSettings()}. The buffer is created the first time this is called,
+     * and flushed and closed by {@link #disconnect()}.
+     *
+     * @return a {@link WriteBehindBuffer}
+     */
+    public synchronized WriteBehindBuffer writeBehind() {
+        if (writeBehind == null)
+            writeBehind = new WriteBehindBuffer(this, writeBehindSettings);
+        return writeBehind;
+    }
+
+    /**
+     * Borrow a connection from the pool. If this thread is in a transaction, the transaction's connection is returned.
+     * <p></p>
+     * <p>Closing the connection gives it back to the pool, so always use try-with-resources.</p>
+     *
+     * @return a {@link Connection}
+     * @throws SQLException if no connection could be borrowed
+     */
+    public Connection getConnection() throws SQLException {
+        Connection connection = transaction.get();
+        if (connection != null)
+            return ConnectionPool.nonClosing(connection);
+        return pool.borrow();
+    }
+
+    /**
+     * Get the fetch size for reads that go through rows as they arrive, such as streams, scans and exports.
+     * <p></p>
+     * <p>This is {@link #getFetchSize()}, except on MySQL. Without {@code useCursorFetch=true} Connector/J ignores</p>
+     * <p>any other fetch size and buffers the whole result, so there it's {@link Integer#MIN_VALUE}, which makes</p>
+     * <p>the driver read one row at a time.</p>
+     *
+     * @return the fetch size to read rows with
+     */
+    public int getStreamingFetchSize() {
+        return getSqlLiteFile() == null ? Integer.MIN_VALUE : fetchSize;
+    }
+
     /**
      * Creates a table within the Database
      *
@@ -221,7 +455,8 @@ public class Database {
         if (debug)
             log("Creating table " + table.getName() + ": " + statement.toString());
 
-        new Statement(statement.toString(), connection).execute();
+        execute("createTable", table.getName(), statement.toString());
+        schemaChanged(table.getName());
 
         table.getColumns().forEach(column -> {
             if (column.getDefaultValue() != null) {
@@ -232,10 +467,80 @@ public class Database {
                 }
             }
         });
+
+        for (Index index : table.getIndexes()) {
+            createIndex(table.getName(), index);
+        }
+    }
+
+    /**
+     * Create an index on a table
+     *
+     * @param table The table you'd like to index
+     * @param index The index you'd like to create
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public void createIndex(@NotNull String table, @NotNull Index index) throws SQLException {
+        if (index.getColumns().isEmpty())
+            throw new IllegalStateException("There are no columns for an index on table " + table + ".");
+
+        List<String> columns = new ArrayList<>(index.getColumns());
+        // Included columns would become part of what has to be unique, letting duplicate keys in
+        if (!index.isUnique())
+            columns.addAll(index.getInclude());
+        else if (debug && !index.getInclude().isEmpty())
+            log("Not including " + index.getInclude() + " in unique index on table " + table);
+        // SQLite index names are shared by the whole database, so the default name includes the table
+        String name = index.getName() != null ? index.getName()
+                : (index.isUnique() ? "ux_" : "idx_") + table + "_" + String.join("_", index.getColumns());
+        String statement = "CREATE " + (index.isUnique() ? "UNIQUE " : "") + "INDEX `" + name + "` ON `" + table + "` ("
+                + columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", ")) + ")";
+
+        if (debug)
+            log("Creating index " + name + " on table " + table + ": " + statement);
+        execute("createIndex", table, statement);
+        schemaChanged(table);
+    }
+
+    /**
+     * Get the indexes the {@link #getIndexAdvisor() index advisor} suggests, from the lookups it has recorded
+     *
+     * @return the suggested indexes, the most looked up column first, or none if there's no advisor
+     * @throws SQLException if there is an error communicating with the database
+     */
+    @NotNull
+    public List<IndexSuggestion> adviseIndexes() throws SQLException {
+        IndexAdvisor advisor = indexAdvisor;
+        if (advisor == null)
+            return Collections.emptyList();
+
+        List<IndexSuggestion> suggestions = advisor.getSuggestions(catalog);
+        if (debug)
+            suggestions.forEach(suggestion -> log("Suggesting an index on " + suggestion.getTable() + "." + suggestion.getColumn()
+                    + " after " + suggestion.getLookups() + " lookups"));
+        return suggestions;
+    }
+
+    /**
+     * Create every index the {@link #getIndexAdvisor() index advisor} suggests
+     *
+     * @return the indexes that were created
+     * @throws SQLException if there is an error communicating with the database
+     */
+    @NotNull
+    public List<IndexSuggestion> createAdvisedIndexes() throws SQLException {
+        List<IndexSuggestion> suggestions = adviseIndexes();
+        for (IndexSuggestion suggestion : suggestions) {
+            createIndex(suggestion.getTable(), suggestion.toIndex());
+        }
+        return suggestions;
     }
 
     /**
      * Start a transaction
+     * <p></p>
+     * <p>The transaction is bound to the calling thread. Until it's committed or rolled back,</p>
+     * <p>every method called from this thread uses the same connection.</p>
      *
      * @throws SQLException          if there is an error with the connection
      * @throws IllegalStateException if the connection is already in a transaction
@@ -244,8 +549,14 @@ public class Database {
         if (isInTransaction())
             throw new IllegalStateException("Transaction already started");
 
-        connection.setAutoCommit(false);
-        new Statement("START TRANSACTION", connection).execute();
+        Connection connection = writerPool != null ? writerPool.borrow() : pool.borrow();
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        transaction.set(connection);
 
         if (debug)
             log("Started transaction");
@@ -260,7 +571,15 @@ public class Database {
     public void rollback() throws SQLException, IllegalStateException {
         if (!isInTransaction())
             throw new IllegalStateException("No transaction to rollback");
-        new Statement("ROLLBACK", connection).execute();
+
+        Connection connection = transaction.get();
+        transaction.remove();
+        try {
+            connection.rollback();
+        } finally {
+            connection.close();
+            invalidateTransactionWrites();
+        }
 
         if (debug)
             log("Rolled back transaction");
@@ -276,13 +595,50 @@ public class Database {
         if (!isInTransaction())
             throw new IllegalStateException("No transaction to commit");
 
-        new Statement("COMMIT", connection).execute();
-        connection.setAutoCommit(true);
+        Connection connection = transaction.get();
+        transaction.remove();
+        try {
+            connection.commit();
+            connection.setAutoCommit(true);
+        } finally {
+            connection.close();
+            invalidateTransactionWrites();
+        }
 
         if (debug)
             log("Committed transaction");
     }
 
+    /**
+     * Check if the calling thread is in a transaction
+     *
+     * @return whether {@link #startTransaction()} has been called on this thread without a commit or rollback
+     */
+    public boolean isInTransaction() {
+        return transaction.get() != null;
+    }
+
+    /**
+     * Add a listener that's told about every operation once it finishes
+     * <p></p>
+     * <p>Use a {@link com.seailz.databaseapi.metrics.QueryMetrics} to collect counts and latency percentiles.</p>
+     * <p>Listeners are called on the thread that ran the operation, so they should be quick.</p>
+     *
+     * @param listener The listener you'd like to add
+     */
+    public void addListener(@NotNull DatabaseListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener that was added with {@link #addListener(DatabaseListener)}
+     *
+     * @param listener The listener you'd like to remove
+     */
+    public void removeListener(@NotNull DatabaseListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Get something from the database
      * <p></p>
@@ -304,19 +660,124 @@ public class Database {
      */
     @Nullable
     public Object get(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column) throws SQLException {
-        String statement = "SELECT * FROM `" + table + "`";
-        ResultSet set = new Statement(statement, connection).executeWithResults();
+        Object[] result = new Object[1];
+        if (!readColumn(table, key, value, column, set -> result[0] = set.getObject(1)) && debug)
+            log("Getting value from table " + table + " failed");
+        return result[0];
+    }
+
+    /**
+     * Get something from the database, read as the Java type of a {@link ColumnType}
+     * <p></p>
+     * <p>For example, a {@code BIGINT} column is always read as a {@link Long}, whatever the driver would choose.</p>
+     *
+     * @param table  the table you'd like to pull from
+     * @param key    The key you'd like to check
+     * @param value  The value that you'd like to check
+     * @param column The column you'd like to get
+     * @param type   The type of the column
+     * @return the value, or null if there is no matching row or the value is {@code NULL}
+     * @throws SQLException if there is an error retrieving the request value
+     * @see #get(String, String, String, String)
+     */
+    @Nullable
+    public Object get(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column, @NotNull ColumnType type) throws SQLException {
+        ValueCodec codec = ValueCodec.of(type);
+        Object[] result = new Object[1];
+        readColumn(table, key, value, column, set -> result[0] = codec.read(set, 1));
+        return result[0];
+    }
+
+    /**
+     * Get a whole number from the database, without boxing it
+     *
+     * @param table        the table you'd like to pull from
+     * @param key          The key you'd like to check
+     * @param value        The value that you'd like to check
+     * @param column       The column you'd like to get
+     * @param defaultValue The value returned if there is no matching row or the value is {@code NULL}
+     * @return the value
+     * @throws SQLException if there is an error retrieving the request value
+     * @see #get(String, String, String, String)
+     */
+    public int getInt(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column, int defaultValue) throws SQLException {
+        int[] result = {defaultValue};
+        readColumn(table, key, value, column, set -> {
+            int read = set.getInt(1);
+            if (!set.wasNull())
+                result[0] = read;
+        });
+        return result[0];
+    }
+
+    /**
+     * Get a long from the database, without boxing it
+     *
+     * @param table        the table you'd like to pull from
+     * @param key          The key you'd like to check
+     * @param value        The value that you'd like to check
+     * @param column       The column you'd like to get
+     * @param defaultValue The value returned if there is no matching row or the value is {@code NULL}
+     * @return the value
+     * @throws SQLException if there is an error retrieving the request value
+     * @see #get(String, String, String, String)
+     */
+    public long getLong(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column, long defaultValue) throws SQLException {
+        long[] result = {defaultValue};
+        readColumn(table, key, value, column, set -> {
+            long read = set.getLong(1);
+            if (!set.wasNull())
+                result[0] = read;
+        });
+        return result[0];
+    }
+
+    /**
+     * Get a decimal number from the database, without boxing it
+     *
+     * @param table        the table you'd like to pull from
+     * @param key          The key you'd like to check
+     * @param value        The value that you'd like to check
+     * @param column       The column you'd like to get
+     * @param defaultValue The value returned if there is no matching row or the value is {@code NULL}
+     * @return the value
+     * @throws SQLException if there is an error retrieving the request value
+     * @see #get(String, String, String, String)
+     */
+    public double getDouble(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column, double defaultValue) throws SQLException {
+        double[] result = {defaultValue};
+        readColumn(table, key, value, column, set -> {
+            double read = set.getDouble(1);
+            if (!set.wasNull())
+                result[0] = read;
+        });
+        return result[0];
+    }
+
+    /**
+     * Reads one column of the first row where {@code key = value}
+     *
+     * @param reader Reads the column from the result set, which is on the matching row
+     * @return whether a row matched
+     */
+    private boolean readColumn(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column, @NotNull RowReader reader) throws SQLException {
+        String statement = "SELECT `" + column + "` FROM `" + table + "` WHERE `" + key + "` = ? LIMIT 1";
+        lookedUp(table, key);
 
         if (debug)
             log("Getting " + column + " from " + table + " where " + key + " = " + value);
 
-        while (set.next()) {
-            if (set.getObject(key).equals(value))
-                return set.getObject(column);
-        }
-        if (debug)
-            log("Getting value from table " + table + " failed");
-        return null;
+        return timed("get", table, false, found -> found ? 1 : 0, () -> withConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                prepStatement.setString(1, value);
+                try (ResultSet set = prepStatement.executeQuery()) {
+                    if (!set.next())
+                        return false;
+                    reader.read(set);
+                    return true;
+                }
+            }
+        }));
     }
 
     /**
@@ -340,17 +801,24 @@ public class Database {
      */
     @Nullable
     public Optional<List<Object>> getList(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column) throws SQLException {
-        String statement = "SELECT * FROM `" + table + "`";
-        ResultSet set = new Statement(statement, connection).executeWithResults();
+        String statement = "SELECT `" + column + "` FROM `" + table + "` WHERE `" + key + "` = ?";
+        lookedUp(table, key);
 
         if (debug)
             log("Getting " + column + " from " + table + " where " + key + " = " + value);
 
-        List<Object> objects = new ArrayList<>();
-        while (set.next()) {
-            if (set.getObject(key).equals(value))
-                objects.add(set.getObject(column));
-        }
+        List<Object> objects = timed("getList", table, false, List::size, () -> withConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                prepStatement.setString(1, value);
+                try (ResultSet set = prepStatement.executeQuery()) {
+                    List<Object> found = new ArrayList<>();
+                    while (set.next()) {
+                        found.add(set.getObject(1));
+                    }
+                    return found;
+                }
+            }
+        }));
 
         if (debug)
             log("Getting value from table " + table + " failed");
@@ -376,15 +844,15 @@ public class Database {
     @Nullable
     public Optional<List<Object>> getList(@NotNull String table, @NotNull String column) throws SQLException {
         String statement = "SELECT * FROM `" + table + "`";
-        ResultSet set = new Statement(statement, connection).executeWithResults();
 
         if (debug)
             log("Getting " + column + " from " + table);
 
-        List<Object> objects = new ArrayList<>();
-        while (set.next()) {
-            objects.add(set.getObject(column));
-        }
+        List<Object> objects = timed("getList", table, false, List::size, () -> withConnection(connection -> {
+            try (Statement query = new Statement(connection)) {
+                return query.query(statement, (row, number) -> row.getObject(column));
+            }
+        }));
 
         if (debug)
             log("Getting value from table " + table + " failed");
@@ -396,17 +864,30 @@ public class Database {
 
     /**
      * Check if a table exists
+     * <p></p>
+     * <p>The answer comes from the {@link #getCatalog() schema catalog}, so the server is only asked</p>
+     * <p>the first time, and again once the catalog's time-to-live has passed.</p>
      *
      * @param tableName The table you'd like to check
      * @return A boolean if the table exists or not
      * @throws SQLException If there is an error
      */
     public boolean tableExists(@NotNull String tableName) throws SQLException {
-        DatabaseMetaData meta = connection.getMetaData();
-        ResultSet resultSet = meta.getTables(null, null, tableName, new String[]{"TABLE"});
         if (debug)
             log("Checking if table exists: " + tableName);
-        return resultSet.next();
+        return catalog.tableExists(tableName);
+    }
+
+    /**
+     * Get a table's columns and primary key from the {@link #getCatalog() schema catalog}
+     *
+     * @param table The table you'd like to look up
+     * @return the table's schema, or null if it doesn't exist
+     * @throws SQLException if there is an error communicating with the database
+     */
+    @Nullable
+    public TableSchema getTableSchema(@NotNull String table) throws SQLException {
+        return catalog.getTable(table);
     }
 
     /**
@@ -417,42 +898,7 @@ public class Database {
      * @throws SQLException if there is an error
      */
     public void insert(@NotNull String table, @NotNull HashMap<String, String> values) throws SQLException {
-        StringBuilder statement = new StringBuilder("insert into `" + table + "` (\n\t");
-
-        ArrayList<String> keysArray = new ArrayList<>(values.keySet());
-        String lastKey = keysArray.get(keysArray.size() - 1);
-        for (String key : values.keySet()) {
-            if (!key.equals(lastKey))
-                statement.append(key).append(",");
-            else
-                statement.append(key).append("\n)\n\t");
-        }
-
-        statement.append(" values (\n\t");
-
-        ArrayList<String> valuesArray = new ArrayList<>(values.values());
-        String lastValue = valuesArray.get(valuesArray.size() - 1);
-        for (String value : values.values()) {
-            if (!value.equals(lastValue))
-                statement.append("?, ");
-            else
-                statement.append("?\n);");
-        }
-
-        if (debug)
-            log(String.valueOf(statement));
-
-        PreparedStatement prepStatement = connection.prepareStatement(statement.toString());
-        int i = 0;
-
-        for (String value : values.values()) {
-            i++;
-            prepStatement.setObject(i, value);
-        }
-
-        if (debug)
-            log("Inserting into table: " + table + " with values: " + values + "with statement: " + statement);
-        prepStatement.executeUpdate();
+        insertRow(table, values);
     }
 
     /**
@@ -462,42 +908,24 @@ public class Database {
      * @throws SQLException if there is an error
      */
     public void insert(@NotNull InsertBuilder builder) throws SQLException {
-        StringBuilder statement = new StringBuilder("insert into `" + builder.getTable() + "` (\n\t");
-
-        ArrayList<String> keysArray = new ArrayList<>(builder.getValues().keySet());
-        String lastKey = keysArray.get(keysArray.size() - 1);
-        for (String key : builder.getValues().keySet()) {
-            if (!key.equals(lastKey))
-                statement.append(key).append(",");
-            else
-                statement.append(key).append("\n)\n\t");
-        }
-
-        statement.append(" values (\n\t");
-
-        ArrayList<String> valuesArray = new ArrayList<>(builder.getValues().values());
-        String lastValue = valuesArray.get(valuesArray.size() - 1);
-        for (String value : builder.getValues().values()) {
-            if (!value.equals(lastValue))
-                statement.append("?, ");
-            else
-                statement.append("?\n);");
-        }
-
-        if (debug)
-            log(String.valueOf(statement));
-
-        PreparedStatement prepStatement = connection.prepareStatement(statement.toString());
-        int i = 0;
-
-        for (String value : builder.getValues().values()) {
-            i++;
-            prepStatement.setObject(i, value);
-        }
+        insertRow(builder.getTable(), builder.getTypedValues());
+    }
 
+    /**
+     * Insert many rows into a database at once
+     * <p></p>
+     * <p>Rows are grouped by the columns they set, and each group is sent with JDBC batching,</p>
+     * <p>{@link #getBatchSize()} rows at a time. Everything is written in a single transaction,</p>
+     * <p>so either every row is inserted or none are.</p>
+     *
+     * @param table The table you'd like to insert to
+     * @param rows  The rows you'd like to insert, each a map of columns to values, which may be typed like {@link InsertBuilder#value(String, Object)}
+     * @throws SQLException if there is an error, in which case nothing is inserted
+     */
+    public void insertBatch(@NotNull String table, @NotNull List<? extends Map<String, ?>> rows) throws SQLException {
         if (debug)
-            log("Inserting into table: " + builder.getTable() + " with values: " + builder.getValues());
-        prepStatement.executeUpdate();
+            log("Inserting " + rows.size() + " rows into table: " + table);
+        batch("insertBatch", table, rowGroups(rows), rows.size(), columns -> insertStatement(table, columns), this::bindRow);
     }
 
     /**
@@ -508,8 +936,15 @@ public class Database {
      * @param value The value, such as the player's name
      */
     public void delete(@NotNull String table, @NotNull String key, @NotNull String value) throws SQLException {
-        String statement = "DELETE FROM `" + table + "` WHERE '" + key + "'='" + value + "'";
-        new Statement(statement, connection).execute();
+        String statement = "DELETE FROM `" + table + "` WHERE `" + key + "` = ?";
+        lookedUp(table, key);
+        timed("delete", table, true, count -> count, () -> withWriteConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                prepStatement.setString(1, value);
+                return prepStatement.executeUpdate();
+            }
+        }));
+        invalidate(table);
         if (debug)
             log("Deleting from table: " + table + " with key: " + key + " and value: " + value);
     }
@@ -524,10 +959,18 @@ public class Database {
      * @throws SQLException if there is an error connecting to the database
      */
     public boolean rowExists(@NotNull String table, @NotNull String key, @NotNull String value) throws SQLException {
-        String statement = "SELECT * FROM `" + table + "` WHERE '" + key + "'='" + value + "'";
+        String statement = "SELECT 1 FROM `" + table + "` WHERE `" + key + "` = ? LIMIT 1";
+        lookedUp(table, key);
         if (debug)
             log("Checking if row exists: " + statement);
-        return new Statement(statement, connection).executeWithResults().next();
+        return timed("rowExists", table, false, exists -> exists ? 1 : 0, () -> withConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                prepStatement.setString(1, value);
+                try (ResultSet resultSet = prepStatement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        }));
     }
 
     /**
@@ -539,14 +982,16 @@ public class Database {
      * @throws SQLException if there is an error connecting to the database
      */
     public boolean rowExists(@NotNull String table, @NotNull WhereBuilder builder) throws SQLException {
-        String statement = "SELECT * FROM `" + table + "` WHERE '" + builder.getKey() + "'='" + builder.getValue() + "'";
-        if (debug)
-            log("Checking if row exists: " + statement);
-        return new Statement(statement, connection).executeWithResults().next();
+        return rowExists(table, builder.getKey(), builder.getValue());
     }
 
     /**
      * Replace a current row with a new one
+     * <p></p>
+     * <p>This is a single {@code UPDATE} of the given columns, so nothing happens if the row doesn't exist.</p>
+     * <p>Use {@link #upsert(String, Map, String...)} to insert the row in that case.</p>
+     * <p>Columns left out of {@code values} keep their current values. They are not reset to their defaults,</p>
+     * <p>as they were when replacing deleted the row and inserted a new one.</p>
      *
      * @param table  The table in which the row is located
      * @param key    The key you would like to check
@@ -555,17 +1000,30 @@ public class Database {
      * @throws SQLException If there's an error communicating with the database
      */
     public void replace(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull HashMap<String, String> values) throws SQLException {
-        if (!rowExists(table, key, value)) return;
-
         if (debug)
             log("Replacing row in table: " + table + " with key: " + key + " and value: " + value);
 
-        delete(table, key, value);
-        insert(table, values);
+        // A single UPDATE only touches the row if it exists, and does so atomically
+        List<String> columns = new ArrayList<>(values.keySet());
+        String statement = "UPDATE `" + table + "` SET "
+                + columns.stream().map(column -> "`" + column + "` = ?").collect(Collectors.joining(", "))
+                + " WHERE `" + key + "` = ?";
+        lookedUp(table, key);
+
+        timed("replace", table, true, count -> count, () -> withWriteConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                for (int i = 0; i < columns.size(); i++) {
+                    prepStatement.setObject(i + 1, values.get(columns.get(i)));
+                }
+                prepStatement.setString(columns.size() + 1, value);
+                return prepStatement.executeUpdate();
+            }
+        }));
+        invalidate(table);
     }
 
     /**
-     * Replace a current row with a new one
+     * Replace a current row with a new one. Columns left out of {@code values} keep their current values.
      *
      * @param table        The table in which the row is located
      * @param whereBuilder The where builder you'd like to use
@@ -573,64 +1031,157 @@ public class Database {
      * @throws SQLException If there's an error communicating with the database
      */
     public void replace(@NotNull String table, @NotNull WhereBuilder whereBuilder, @NotNull HashMap<String, String> values) throws SQLException {
-        if (!rowExists(table, whereBuilder.getKey(), whereBuilder.getValue())) return;
-
-        if (debug)
-            log("Replacing row in table: " + table + " with key: " + whereBuilder.getKey() + " and value: " + whereBuilder.getValue());
-
-        delete(table, whereBuilder.getKey(), whereBuilder.getValue());
-        insert(table, values);
+        replace(table, whereBuilder.getKey(), whereBuilder.getValue(), values);
     }
 
     /**
-     * Delete a table
+     * Insert a row, or update it if a row with the same key already exists
+     * <p></p>
+     * <p>This is a single statement: {@code INSERT ... ON DUPLICATE KEY UPDATE} on MySQL</p>
+     * <p>and {@code INSERT ... ON CONFLICT DO UPDATE} on SQLite.</p>
      *
-     * @param name The name of the table you'd like to delete
+     * @param table  The table you'd like to write to
+     * @param values A map of columns to values
+     * @param keys   The columns of the primary key or unique index that identifies the row. Required for SQLite.
      * @throws SQLException if there is an error communicating with the database
      */
-    public void deleteTable(@NotNull String name) throws SQLException {
-        if (!tableExists(name)) return;
-        if (debug)
-            log("Deleteing table: " + name);
-        new Statement("DROP TABLE " + name + ";", connection).execute();
+    public void upsert(@NotNull String table, @NotNull Map<String, String> values, @NotNull String... keys) throws SQLException {
+        upsertRow(table, values, keys);
     }
 
     /**
-     * Update a row in a table
+     * Insert a row, or update it if a row with the same key already exists
      *
-     * @param table        The table you'd like to update
-     * @param whereBuilder The where builder you'd like to use
-     * @param column       The column you'd like to update
-     * @param newColumn    The new value you'd like to insert
+     * @param builder The builder you'd like to use
+     * @param keys    The columns of the primary key or unique index that identifies the row. Required for SQLite.
      * @throws SQLException if there is an error communicating with the database
+     * @see #upsert(String, Map, String...)
      */
-    public void update(@NotNull String table, @NotNull WhereBuilder whereBuilder, @NotNull String column, @NotNull String newColumn) throws SQLException {
-        String statement = "UPDATE `" + table + "` SET `" + column + "`=`" + newColumn + "` WHERE `" + whereBuilder.getKey() + "`='" + whereBuilder.getValue() + "'";
-        if (debug)
-            log("Updating row with table: " + table + " with key: " + whereBuilder.getKey() + " and value: " + whereBuilder.getValue() + " with column: " + column + " and new value: " + newColumn);
-        new Statement(statement, connection).execute();
+    public void upsert(@NotNull InsertBuilder builder, @NotNull String... keys) throws SQLException {
+        upsertRow(builder.getTable(), builder.getTypedValues(), keys);
     }
 
-
     /**
-     * Update a table in the database
+     * Insert a {@code Java Object}, or update its row if it already exists
      *
-     * @param table  The table you'd like to update
-     * @param column The column you'd like to update
-     * @param type   The type of the column
+     * @param table  The table you'd like to write to
+     * @param object The object you'd like to save
+     * @param keys   The columns of the primary key or unique index that identifies the row. Required for SQLite.
      * @throws SQLException if there is an error communicating with the database
+     * @see #upsert(String, Map, String...)
      */
-    public void addColumnToTable(String table, String column, String type, int amount) throws SQLException {
-        String statement = "ALTER TABLE `" + table + "` ADD `" + column + "` " + type + "(" + amount + ");";
-        if (debug)
-            log("Adding column to table: " + table + " with name: " + column + " and type: " + type);
-        new Statement(statement, connection).execute();
+    public void upsert(@NotNull String table, @NotNull Object object, @NotNull String... keys) throws SQLException {
+        EntityMetadata metadata = EntityMetadata.of(object.getClass());
+        writeObject("upsert", table, object, upsertStatement(table, metadata.getColumns(), keys));
     }
 
     /**
-     * Remove a column from a table
+     * Insert or update many rows at once, batched in a single transaction
      *
-     * @param table  The table you'd like to remove a column from
+     * @param table The table you'd like to write to
+     * @param rows  The rows you'd like to save, each a map of columns to values
+     * @param keys  The columns of the primary key or unique index that identifies a row. Required for SQLite.
+     * @throws SQLException if there is an error, in which case nothing is written
+     * @see #insertBatch(String, List)
+     */
+    public void upsertBatch(@NotNull String table, @NotNull List<? extends Map<String, ?>> rows, @NotNull String... keys) throws SQLException {
+        if (debug)
+            log("Upserting " + rows.size() + " rows into table: " + table);
+        batch("upsertBatch", table, rowGroups(rows), rows.size(), columns -> upsertStatement(table, columns, keys), this::bindRow);
+    }
+
+    /**
+     * Update many rows at once, batched in a single transaction
+     * <p></p>
+     * <p>Each row is a map of the columns to set, and must also hold the value of {@code key},</p>
+     * <p>which picks the row that's updated. Rows that set the same columns share a statement.</p>
+     *
+     * @param table The table you'd like to update
+     * @param key   The column that identifies a row
+     * @param rows  The rows you'd like to update, each a map of columns to values
+     * @throws SQLException if there is an error, in which case nothing is updated
+     */
+    public void updateBatch(@NotNull String table, @NotNull String key, @NotNull List<? extends Map<String, ?>> rows) throws SQLException {
+        if (debug)
+            log("Updating " + rows.size() + " rows in table: " + table);
+        lookedUp(table, key);
+        batch("updateBatch", table, rowGroups(rows), rows.size(), columns -> updateStatement(table, key, columns), (prepStatement, columns, row) -> {
+            int index = 1;
+            for (String column : columns) {
+                if (!column.equals(key))
+                    ValueCodec.bindValue(prepStatement, index++, row.get(column));
+            }
+            ValueCodec.bindValue(prepStatement, index, row.get(key));
+        });
+    }
+
+    /**
+     * Insert or update many {@code Java Objects} at once, batched in a single transaction
+     *
+     * @param table   The table you'd like to write to
+     * @param objects The objects you'd like to save
+     * @param keys    The columns of the primary key or unique index that identifies a row. Required for SQLite.
+     * @throws SQLException if there is an error, in which case nothing is written
+     */
+    public void upsertList(@NotNull String table, @NotNull List<?> objects, @NotNull String... keys) throws SQLException {
+        if (debug)
+            log("Upserting " + objects.size() + " objects into table: " + table);
+        batch("upsertList", table, objectGroups(objects), objects.size(), columns -> upsertStatement(table, columns, keys), this::bindObject);
+    }
+
+    /**
+     * Delete a table
+     *
+     * @param name The name of the table you'd like to delete
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public void deleteTable(@NotNull String name) throws SQLException {
+        if (!tableExists(name)) return;
+        if (debug)
+            log("Deleteing table: " + name);
+        execute("deleteTable", name, "DROP TABLE " + name + ";");
+        schemaChanged(name);
+    }
+
+    /**
+     * Update a row in a table
+     *
+     * @param table        The table you'd like to update
+     * @param whereBuilder The where builder you'd like to use
+     * @param column       The column you'd like to update
+     * @param newColumn    The new value you'd like to insert
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public void update(@NotNull String table, @NotNull WhereBuilder whereBuilder, @NotNull String column, @NotNull String newColumn) throws SQLException {
+        String statement = "UPDATE `" + table + "` SET `" + column + "`=`" + newColumn + "` WHERE `" + whereBuilder.getKey() + "`='" + whereBuilder.getValue() + "'";
+        lookedUp(table, whereBuilder.getKey());
+        if (debug)
+            log("Updating row with table: " + table + " with key: " + whereBuilder.getKey() + " and value: " + whereBuilder.getValue() + " with column: " + column + " and new value: " + newColumn);
+        execute("update", table, statement);
+        invalidate(table);
+    }
+
+
+    /**
+     * Update a table in the database
+     *
+     * @param table  The table you'd like to update
+     * @param column The column you'd like to update
+     * @param type   The type of the column
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public void addColumnToTable(String table, String column, String type, int amount) throws SQLException {
+        String statement = "ALTER TABLE `" + table + "` ADD `" + column + "` " + type + "(" + amount + ");";
+        if (debug)
+            log("Adding column to table: " + table + " with name: " + column + " and type: " + type);
+        execute("addColumn", table, statement);
+        schemaChanged(table);
+    }
+
+    /**
+     * Remove a column from a table
+     *
+     * @param table  The table you'd like to remove a column from
      * @param column The column you'd like to remove
      * @throws SQLException if there is an error communicating with the database
      */
@@ -638,7 +1189,8 @@ public class Database {
         String statement = "ALTER TABLE `" + table + "` DROP COLUMN `" + column + "`;";
         if (debug)
             log("Removing column: " + column + " from table: " + table);
-        new Statement(statement, connection).execute();
+        execute("removeColumn", table, statement);
+        schemaChanged(table);
     }
 
     /**
@@ -653,7 +1205,8 @@ public class Database {
         String statement = "ALTER TABLE `" + table + "` CHANGE `" + oldName + "` `" + newName + "`;";
         if (debug)
             log("Changing column name: " + oldName + " to " + newName + " in table: " + table);
-        new Statement(statement, connection).execute();
+        execute("renameColumn", table, statement);
+        schemaChanged(table);
     }
 
     /**
@@ -667,49 +1220,128 @@ public class Database {
         String statement = "ALTER TABLE `" + table + "` DROP COLUMN `" + column + "`;";
         if (debug)
             log("Deleteing column: " + column + " from table: " + table);
-        new Statement(statement, connection).execute();
+        execute("deleteColumn", table, statement);
+        schemaChanged(table);
     }
 
     /**
      * Export a table to a file
+     * <p></p>
+     * <p>Values are quoted as described by RFC 4180, and {@code NULL} is written as an empty field.</p>
+     * <p>If the file can't be written, the error is printed. Use {@link #exportToCSV(String, String, ExportBuilder)} to handle it yourself.</p>
      *
      * @param table    The table you'd like to export
      * @param filePath The file's path you'd like to export to
      * @throws SQLException if there is an error communicating with the database
      */
     public void exportToCSV(String table, String filePath) throws SQLException {
+        try {
+            exportToCSV(table, filePath, new ExportBuilder());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Export a table to a file
+     * <p></p>
+     * <p>The table is read with a forward-only cursor, so it never has to fit in memory. SQLite reads it</p>
+     * <p>{@link #getFetchSize()} rows at a time. MySQL streams it row by row, since Connector/J would otherwise buffer</p>
+     * <p>the whole result, and the connection can't be used for anything else until the export is done.</p>
+     * <p>The settings choose a header, gzip compression,</p>
+     * <p>and whether rows are formatted on other threads while the next ones are fetched.</p>
+     *
+     * @param table    The table you'd like to export
+     * @param filePath The file's path you'd like to export to
+     * @param settings How the file is written
+     * @return the amount of rows exported
+     * @throws SQLException if there is an error communicating with the database
+     * @throws IOException  if the file could not be written
+     */
+    public long exportToCSV(@NotNull String table, @NotNull String filePath, @NotNull ExportBuilder settings) throws SQLException, IOException {
         String statement = "SELECT * FROM `" + table + "`";
         if (debug)
             log("Exporting table: " + table + " to file: " + filePath);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-        try {
-            FileWriter writer = new FileWriter(filePath);
-            while (resultSet.next()) {
-                for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
-                    writer.write(resultSet.getString(i));
-                    if (i != resultSet.getMetaData().getColumnCount())
-                        writer.write(",");
+
+        IOException[] failure = new IOException[1];
+        long rows = timed("exportToCSV", table, false, count -> count, () -> withConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                prepStatement.setFetchSize(getStreamingFetchSize());
+                try (ResultSet resultSet = prepStatement.executeQuery()) {
+                    return new CsvExporter(settings).export(resultSet, Paths.get(filePath));
                 }
-                writer.write("\n");
+            } catch (IOException e) {
+                failure[0] = e;
+                return 0L;
             }
-            writer.close();
+        }));
+
+        if (failure[0] != null)
+            throw failure[0];
+        return rows;
+    }
+
+    /**
+     * Import a table from a CSV file, such as one written by {@link #exportToCSV(String, String)}
+     * <p></p>
+     * <p>The file is read on this machine and sent through the connection, so it works with SQLite and remote servers alike.</p>
+     * <p>Each record's fields go into the table's columns in order. If the file can't be read, the error is printed.</p>
+     * <p>Use {@link #importFromCSV(String, String, ImportBuilder)} to handle it yourself.</p>
+     *
+     * @param table    The table you'd like to import into
+     * @param filePath The file's path you'd like to import from
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public void importFromFile(String table, String filePath) throws SQLException {
+        try {
+            importFromCSV(table, filePath, new ImportBuilder());
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Import a table from a file
+     * Import a table from a CSV file
+     * <p></p>
+     * <p>The file is streamed, and its rows are inserted in batches of {@link #getBatchSize()},</p>
+     * <p>with a commit every {@link ImportBuilder#getCommitInterval()} rows. If this thread is in a transaction,</p>
+     * <p>the rows join it and nothing is committed.</p>
      *
      * @param table    The table you'd like to import into
      * @param filePath The file's path you'd like to import from
+     * @param settings How the file is read
+     * @return how many rows were imported, and how many records were skipped
      * @throws SQLException if there is an error communicating with the database
+     * @throws IOException  if the file could not be read, or a record could not be parsed and there's no error handler
      */
-    public void importFromFile(String table, String filePath) throws SQLException {
-        String statement = "LOAD DATA INFILE '" + filePath + "' INTO TABLE `" + table + "`";
+    public ImportResult importFromCSV(@NotNull String table, @NotNull String filePath, @NotNull ImportBuilder settings) throws SQLException, IOException {
         if (debug)
             log("Importing table: " + table + " from file: " + filePath);
-        new Statement(statement, connection).execute();
+
+        List<String> columns = settings.getColumns() == null ? tableColumns(table) : null;
+        IOException[] failure = new IOException[1];
+        ImportResult result = timed("importFromCSV", table, true, ImportResult::getImported, () -> withWriteConnection(connection -> {
+            try {
+                return new CsvImporter(settings, batchSize).importFile(Paths.get(filePath), connection, table, columns, !isInTransaction());
+            } catch (IOException e) {
+                failure[0] = e;
+                return new ImportResult(0, 0);
+            }
+        }));
+        invalidate(table);
+
+        if (failure[0] != null)
+            throw failure[0];
+        return result;
+    }
+
+    /**
+     * @return the table's columns, in the order {@code SELECT *} returns them, or null if it doesn't exist
+     */
+    @Nullable
+    private List<String> tableColumns(@NotNull String table) throws SQLException {
+        TableSchema schema = catalog.getTable(table);
+        return schema == null ? null : schema.getColumns().stream().map(ColumnSchema::getName).collect(Collectors.toList());
     }
 
     /**
@@ -723,13 +1355,17 @@ public class Database {
         String statement = "SELECT COUNT(*) FROM `" + table + "`";
         if (debug)
             log("Counting rows in table: " + table);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-        resultSet.next();
-        return resultSet.getInt(1);
+        return timed("countRows", table, false, count -> 1, () -> withConnection(connection -> {
+            try (Statement query = new Statement(connection)) {
+                return query.query(statement, (row, number) -> row.getInt(1)).get(0);
+            }
+        }));
     }
 
     /**
      * Get all tables in the database
+     * <p></p>
+     * <p>The result set holds a pooled connection until it's closed, so always use try-with-resources.</p>
      *
      * @return A list of all tables in the database
      * @throws SQLException if there is an error communicating with the database
@@ -738,11 +1374,14 @@ public class Database {
         String statement = "SHOW TABLES";
         if (debug)
             log("Getting all tables");
-        return new Statement(statement, connection).executeWithResults();
+        return query("getAllTables", null, statement);
     }
 
     /**
      * Get all data in a table
+     * <p></p>
+     * <p>Rows are read from the database as the result set moves forward, rather than all at once.</p>
+     * <p>The result set holds a pooled connection until it's closed, so always use try-with-resources.</p>
      *
      * @param table The table you'd like to get data from
      * @return A list of all data in the table
@@ -752,7 +1391,7 @@ public class Database {
         String statement = "SELECT * FROM `" + table + "`";
         if (debug)
             log("Getting all data in table: " + table);
-        return new Statement(statement, connection).executeWithResults();
+        return query("getAllDataInTable", table, statement);
     }
 
     /**
@@ -765,7 +1404,8 @@ public class Database {
         String statement = "DROP TABLE IF EXISTS `" + table + "`";
         if (debug)
             log("Deleting table if it exists: " + table);
-        new Statement(statement, connection).execute();
+        execute("deleteTableIfExists", table, statement);
+        schemaChanged(table);
     }
 
     /**
@@ -774,11 +1414,13 @@ public class Database {
      * @param table      The table you'd like to replace the primary key in
      * @param primaryKey The new primary key
      */
+    @SneakyThrows
     public void replacePrimaryKey(String table, String primaryKey) {
         String statement = "ALTER TABLE `" + table + "` DROP PRIMARY KEY, ADD PRIMARY KEY (`" + primaryKey + "`);";
         if (debug)
             log("Changing primary key of table: " + table + " to: " + primaryKey);
-        new Statement(statement, connection).execute();
+        execute("replacePrimaryKey", table, statement);
+        schemaChanged(table);
     }
 
     /**
@@ -792,21 +1434,29 @@ public class Database {
         String statement = "INSERT INTO `" + table + "` SELECT * FROM `" + copyFrom + "`;";
         if (debug)
             log("Copying contents from table: " + copyFrom + " to table: " + table);
-        new Statement(statement, connection).execute();
+        execute("copyTable", table, statement);
+        invalidate(table);
     }
 
     /**
      * Describe a table
+     * <p></p>
+     * <p>On MySQL this is the server's own {@code DESCRIBE}. SQLite doesn't have one, so there the rows are built</p>
+     * <p>from the {@link #getCatalog() schema catalog}, with the same columns: {@code Field}, {@code Type}, {@code Null},</p>
+     * <p>{@code Key}, {@code Default} and {@code Extra}. {@code Type} is the driver's type name, and {@code Extra}</p>
+     * <p>is only ever {@code auto_increment}. Use {@link #getTableSchema(String)} for the cached schema on any database.</p>
+     * <p>On MySQL the result set holds a pooled connection until it's closed, so always use try-with-resources.</p>
      *
      * @param table The table you'd like to describe
      * @return The description of the table
-     * @throws SQLException if there is an error communicating with the database
+     * @throws SQLException if there is an error communicating with the database, or the table doesn't exist
      */
     public ResultSet describeTable(String table) throws SQLException {
-        String statement = "DESCRIBE `" + table + "`";
         if (debug)
             log("Describing table: " + table);
-        return new Statement(statement, connection).executeWithResults();
+        if (getSqlLiteFile() == null)
+            return query("describeTable", table, "DESCRIBE `" + table + "`");
+        return describe(table, null);
     }
 
     /**
@@ -814,14 +1464,73 @@ public class Database {
      *
      * @param table  The table you'd like to describe
      * @param column The column you'd like to describe
-     * @return The description of the column
-     * @throws SQLException if there is an error communicating with the database
+     * @return The description of the column, with no rows if the table doesn't have it
+     * @throws SQLException if there is an error communicating with the database, or the table doesn't exist
+     * @see #describeTable(String)
      */
     public ResultSet describeColumn(String table, String column) throws SQLException {
-        String statement = "DESCRIBE `" + table + "` `" + column + "`";
         if (debug)
             log("Describing column: " + column + " in table: " + table);
-        return new Statement(statement, connection).executeWithResults();
+        if (getSqlLiteFile() == null)
+            return query("describeColumn", table, "DESCRIBE `" + table + "` `" + column + "`");
+        return describe(table, column);
+    }
+
+    /**
+     * @return the {@code Key} of a column the way MySQL's {@code DESCRIBE} reports it: {@code PRI} for the primary key,
+     * {@code UNI} for the first column of a unique index, {@code MUL} for the first column of any other index
+     */
+    private static String describeKey(TableSchema schema, ColumnSchema column) {
+        if (column.isPrimaryKey())
+            return "PRI";
+
+        String key = "";
+        for (IndexSchema index : schema.getIndexes()) {
+            if (index.getColumns().isEmpty() || !index.getColumns().get(0).equalsIgnoreCase(column.getName()))
+                continue;
+            if (index.isUnique() && index.getColumns().size() == 1)
+                return "UNI";
+            key = "MUL";
+        }
+        return key;
+    }
+
+    /**
+     * Builds the rows of {@code DESCRIBE} from the schema catalog, for databases that don't have it
+     */
+    private ResultSet describe(@NotNull String table, @Nullable String column) throws SQLException {
+        TableSchema schema = catalog.getTable(table);
+        if (schema == null)
+            throw new SQLException("Table '" + table + "' doesn't exist");
+
+        String[] labels = {"Field", "Type", "Null", "Key", "Default", "Extra"};
+        RowSetMetaDataImpl meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            meta.setColumnName(i + 1, labels[i]);
+            meta.setColumnLabel(i + 1, labels[i]);
+            meta.setColumnType(i + 1, Types.VARCHAR);
+        }
+
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(meta);
+        for (ColumnSchema info : schema.getColumns()) {
+            if (column != null && !info.getName().equalsIgnoreCase(column))
+                continue;
+
+            rowSet.moveToInsertRow();
+            rowSet.updateString(1, info.getName());
+            // SQLite ignores lengths, and its driver reports placeholder sizes, so only the type name is meaningful
+            rowSet.updateString(2, info.getTypeName().toLowerCase(Locale.ROOT));
+            rowSet.updateString(3, info.isNullable() ? "YES" : "NO");
+            rowSet.updateString(4, describeKey(schema, info));
+            rowSet.updateString(5, info.getDefaultValue());
+            rowSet.updateString(6, info.isAutoIncrement() ? "auto_increment" : "");
+            rowSet.insertRow();
+        }
+        rowSet.moveToCurrentRow();
+        rowSet.beforeFirst();
+        return rowSet;
     }
 
     /**
@@ -836,7 +1545,8 @@ public class Database {
         String statement = "ALTER TABLE `" + table + "` ALTER `" + column + "` SET DEFAULT " + value + ";";
         if (debug)
             log("Setting default value: " + value + " for column: " + column + " in table: " + table);
-        new Statement(statement, connection).execute();
+        execute("setColumnDefault", table, statement);
+        schemaChanged(table);
     }
 
     /**
@@ -847,60 +1557,9 @@ public class Database {
      * @throws SQLException if there is an error communicating with the database
      */
     public void insert(String table, Object object) throws SQLException {
-        ArrayList<String> keys = new ArrayList<>();
-        ArrayList<String> values = new ArrayList<>();
-
-        // Adds all fields to the keys and values ArrayLists
-        for (Field field : object.getClass().getDeclaredFields()) {
-            String key = field.getName();
-
-            // Checks the field's annotations
-            if (field.isAnnotationPresent(DontSave.class)) continue;
-            if (field.isAnnotationPresent(com.seailz.databaseapi.annotation.Column.class)) {
-                // If there is an annotation, use the annotation's name instead of the field's name
-                key = field.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value();
-            }
-
-            keys.add(key);
-            try {
-                field.setAccessible(true);
-                Object fie = field.get(object);
-                if (fie == null) {
-                    values.add(null);
-                } else values.add(fie.toString());
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-
-        // Adds all fields from the superclass to the keys and values ArrayLists
-        for (Field field : object.getClass().getSuperclass().getDeclaredFields()) {
-            String key = field.getName();
-
-            // Checks the field's annotations
-            if (field.isAnnotationPresent(DontSave.class)) continue;
-            if (field.isAnnotationPresent(com.seailz.databaseapi.annotation.Column.class)) {
-                // If there is an annotation, use the annotation's name instead of the field's name
-                key = field.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value();
-            }
-
-            keys.add(key);
-            try {
-                field.setAccessible(true);
-                values.add(field.get(object).toString());
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-
-        // Loops through and puts everything in a HashMap
-        HashMap<String, String> keyValuesHashMap = new HashMap<>();
-        for (int i = 0; i < keys.size(); i++) {
-            keyValuesHashMap.put(keys.get(i), values.get(i));
-        }
-
-        // Writes the HashMap to the table
-        insert(table, keyValuesHashMap);
+        // Binds the object's fields to the statement with their own types
+        EntityMetadata metadata = EntityMetadata.of(object.getClass());
+        writeObject("insert", table, object, insertStatement(table, metadata.getColumns()));
 
         if (debug)
             log("Wrote object to table: " + table);
@@ -909,115 +1568,103 @@ public class Database {
     /**
      * Write multiple {@code Java Objects} to a table
      *
+     * <p>The objects are written with {@link #insertAll(String, List)}, so they're inserted in one transaction.</p>
+     *
      * @param table  The table you'd like to write to
      * @param objects The objects you'd like to insert
      */
     public void insertList(String table, List<?> objects) {
-        objects.forEach(object -> {
-            ArrayList<String> keys = new ArrayList<>();
-            ArrayList<String> values = new ArrayList<>();
-
-            // Adds all fields to the keys and values ArrayLists
-            for (Field field : object.getClass().getDeclaredFields()) {
-                String key = field.getName();
-
-                // Checks the field's annotations
-                if (field.isAnnotationPresent(DontSave.class)) continue;
-                if (field.isAnnotationPresent(com.seailz.databaseapi.annotation.Column.class)) {
-                    // If there is an annotation, use the annotation's name instead of the field's name
-                    key = field.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value();
-                    return;
-                }
-
-                keys.add(key);
-                try {
-                    field.setAccessible(true);
-                    values.add(field.get(object).toString());
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-            }
-
-            // Adds all fields from the superclass to the keys and values ArrayLists
-            for (Field field : object.getClass().getSuperclass().getDeclaredFields()) {
-                String key = field.getName();
-
-                // Checks the field's annotations
-                if (field.isAnnotationPresent(DontSave.class)) continue;
-                if (field.isAnnotationPresent(com.seailz.databaseapi.annotation.Column.class)) {
-                    // If there is an annotation, use the annotation's name instead of the field's name
-                    key = field.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value();
-                    return;
-                }
-
-                keys.add(key);
-                try {
-                    field.setAccessible(true);
-                    values.add(field.get(object).toString());
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-            }
-
-            // Loops through and puts everything in a HashMap
-            HashMap<String, String> keyValuesHashMap = new HashMap<>();
-            for (int i = 0; i < keys.size(); i++) {
-                keyValuesHashMap.put(keys.get(i), values.get(i));
-            }
+        // Writes every object to the table in one batched transaction
+        try {
+            insertAll(table, objects);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
 
-            // Writes the HashMap to the table
-            try {
-                insert(table, keyValuesHashMap);
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+    /**
+     * Write multiple {@code Java Objects} to a table in one batched transaction
+     * <p></p>
+     * <p>Unlike {@link #insertList(String, List)}, a failure is thrown instead of printed.</p>
+     *
+     * @param table   The table you'd like to write to
+     * @param objects The objects you'd like to insert
+     * @throws SQLException if there is an error, in which case nothing is inserted
+     */
+    public void insertAll(@NotNull String table, @NotNull List<?> objects) throws SQLException {
+        batch("insertList", table, objectGroups(objects), objects.size(), columns -> insertStatement(table, columns), this::bindObject);
 
-            if (debug)
-                log("Wrote object to table: " + table);
-        });
+        if (debug)
+            log("Wrote " + objects.size() + " objects to table: " + table);
     }
 
     /**
      * Reads {@code Java Objects} from a table
+     * <p></p>
+     * <p>If a {@link EntityCache} is set, objects are served from it when possible.</p>
      *
      * @param table The table you'd like to read from
      * @param key   The key you'd like to read from
      * @param value The value you'd like to read from
      * @param clazz The class you'd like to read into
-     * @return The object you read into
+     * @return The object you read into, or null if no row matched
      * @throws SQLException              if there is an error communicating with the database
      * @throws IllegalAccessException    if there is an error accessing the object
      * @throws InstantiationException    if there is an error instantiating the object
      * @throws InvocationTargetException if there is an error invoking the object
      */
+    @Nullable
     public Object get(String table, String key, String value, Class<?> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        String statement = "SELECT * FROM `" + table + "` WHERE `" + key + "` = '" + value + "';";
-        if (debug)
-            log("Reading object from table: " + table + " with key: " + key + " and value: " + value);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-
-        // Creates a new instance of the class
-        Object object;
-        Constructor<?> constructor = retrieveConstructor(clazz);
-        ArrayList<Object> parameters = new ArrayList<>();
+        return get(table, key, value, clazz, true);
+    }
 
-        HashMap<String, Object> keyValuesHashMap = new HashMap<>();
+    /**
+     * Reads a {@code Java Object} from a table, like {@link #get(String, String, String, Class)},
+     * but always from the database. The {@link EntityCache} is neither read nor filled,
+     * so the object is a new instance that nobody else holds.
+     *
+     * @param table The table you'd like to read from
+     * @param key   The key you'd like to read from
+     * @param value The value you'd like to read from
+     * @param clazz The class you'd like to read into
+     * @param <T>   The type of the object
+     * @return The object you read into, or null if no row matched
+     * @throws SQLException              if there is an error communicating with the database
+     * @throws IllegalAccessException    if there is an error accessing the object
+     * @throws InstantiationException    if there is an error instantiating the object
+     * @throws InvocationTargetException if there is an error invoking the object
+     */
+    @Nullable
+    public <T> T getUncached(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull Class<T> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        return clazz.cast(get(table, key, value, clazz, false));
+    }
 
-        while (resultSet.next()) {
-            // Loops through all the columns and adds them to the HashMap
-            for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
-                keyValuesHashMap.put(resultSet.getMetaData().getColumnName(i), resultSet.getObject(i));
-            }
+    @Nullable
+    private Object get(String table, String key, String value, Class<?> clazz, boolean useCache) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        // Reads inside a transaction may see uncommitted rows, so they bypass the cache
+        CacheKey cacheKey = useCache && cache != null && !isInTransaction() ? new CacheKey(table, key, value, clazz) : null;
+        long generation = 0;
+        if (cacheKey != null) {
+            Object cached = cache.get(cacheKey);
+            if (cached != null)
+                return cached;
+            // Taken before the read, so a write that lands while reading keeps the old row out of the cache
+            generation = cache.getGeneration(table);
         }
 
-        for (Parameter p : constructor.getParameters()) {
-            if (hasAnnotation(p))
-                parameters.add(keyValuesHashMap.get(p.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value()));
-        }
+        String statement = "SELECT " + EntityMetadata.of(clazz).getSelectColumns() + " FROM `" + table + "` WHERE `" + key + "` = ? LIMIT 1;";
+        lookedUp(table, key);
+        if (debug)
+            log("Reading object from table: " + table + " with key: " + key + " and value: " + value);
+
+        List<Object> objects = readObjects("getObject", table, statement, value, clazz);
 
         if (debug)
             log("Read object from table: " + table);
-        object = constructor.newInstance(parameters.toArray());
+
+        Object object = objects.isEmpty() ? null : objects.get(0);
+        if (cacheKey != null && object != null)
+            cache.put(cacheKey, object, generation);
         return object;
     }
 
@@ -1034,17 +1681,11 @@ public class Database {
      * @throws IllegalAccessException If there is an error accessing some parameters within the object
      */
     public Optional<List<?>> getList(String key, String value, String table, Class<?> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        String statement = "SELECT * FROM `" + table + "` WHERE `" + key + "` = '" + value + "';";
+        String statement = "SELECT " + EntityMetadata.of(clazz).getSelectColumns() + " FROM `" + table + "` WHERE `" + key + "` = ?;";
+        lookedUp(table, key);
         if (debug)
             log("Reading objects from table: " + table + " with key: " + key + " and value: " + value);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-        List<Object> returnObjects = new ArrayList<>();
-
-        int i = 0;
-        while (resultSet.next()) {
-            returnObjects.add(get(table, key, value, clazz, i));
-            i++;
-        }
+        List<Object> returnObjects = readObjects("getObjects", table, statement, value, clazz);
 
         return returnObjects.isEmpty() ? Optional.empty() : Optional.of(returnObjects);
     }
@@ -1060,143 +1701,1083 @@ public class Database {
      * @throws IllegalAccessException If there is an error accessing some parameters within the object
      */
     public Optional<List<?>> getList(String table, Class<?> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        String statement = "SELECT * FROM `" + table + "`;";
+        String statement = "SELECT " + EntityMetadata.of(clazz).getSelectColumns() + " FROM `" + table + "`;";
         if (debug)
             log("Reading objects from table: " + table);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-        List<Object> returnObjects = new ArrayList<>();
-
-        int i = 0;
-        while (resultSet.next()) {
-            returnObjects.add(get(table, clazz, i));
-            i++;
-        }
+        List<Object> returnObjects = readObjects("getObjects", table, statement, null, clazz);
 
         return returnObjects.isEmpty() ? Optional.empty() : Optional.of(returnObjects);
     }
 
     /**
-     * Reads {@code Java Objects} from a table
+     * Reads the {@code Java Objects} for many keys at once
+     * <p></p>
+     * <p>The keys are sent in {@code WHERE key IN (...)} queries of up to {@link #getChunkSize()} keys each,</p>
+     * <p>instead of one query per key. Keys that are in the {@link EntityCache} aren't queried at all.</p>
+     * <p>A row the database matches to a key written differently, such as another case under a case-insensitive</p>
+     * <p>collation, or {@code "007"} on a numeric column, is returned under the key as it was given.</p>
      *
-     * @param table The table you'd like to read from
-     * @param key   The key you'd like to read from
-     * @param value The value you'd like to read from
-     * @param clazz The class you'd like to read into
-     * @return The object you read into
+     * @param table  The table you'd like to read from
+     * @param key    The column the values are matched against
+     * @param values The values you'd like to read
+     * @param clazz  The class you'd like to read into
+     * @param <T>    The type of the objects
+     * @return The objects that were found, by their key, in the order of {@code values}. Values without a row are left out.
      * @throws SQLException              if there is an error communicating with the database
      * @throws IllegalAccessException    if there is an error accessing the object
      * @throws InstantiationException    if there is an error instantiating the object
      * @throws InvocationTargetException if there is an error invoking the object
      */
-    private Object get(String table, String key, String value, Class<?> clazz, int index) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        String statement = "SELECT * FROM `" + table + "` WHERE `" + key + "` = '" + value + "';";
-        if (debug)
-            log("Reading object from table: " + table + " with key: " + key + " and value: " + value);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-
-        // Creates a new instance of the class
-        Object object;
-        Constructor<?> constructor = retrieveConstructor(clazz);
-        ArrayList<Object> parameters = new ArrayList<>();
-
-        HashMap<String, Object> keyValuesHashMap = new HashMap<>();
-
-        int resultSetIndex = 0;
-        while (resultSet.next()) {
-            // Loops through all the columns and adds them to the HashMap
-            if (resultSetIndex == index) {
-                for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
-                    keyValuesHashMap.put(resultSet.getMetaData().getColumnName(i), resultSet.getObject(i));
-                }
-            }
-            resultSetIndex++;
-        }
-
-        for (Parameter p : constructor.getParameters()) {
-            if (hasAnnotation(p))
-                parameters.add(keyValuesHashMap.get(p.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value()));
-        }
+    public <T> Map<String, T> getMany(@NotNull String table, @NotNull String key, @NotNull Collection<String> values, @NotNull Class<T> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        return getMany(table, key, values, clazz, false);
+    }
 
-        if (debug)
-            log("Read object from table: " + table);
-        object = constructor.newInstance(parameters.toArray());
-        return object;
+    /**
+     * Reads the {@code Java Objects} for many keys at once, optionally running the chunks in parallel
+     * <p></p>
+     * <p>In parallel, chunks are handed to the {@link #async()} executor, each on its own pooled connection.</p>
+     * <p>The calling thread runs any chunk no worker has picked up yet, so a busy executor only slows this down.</p>
+     * <p>Inside a transaction the chunks always run on the transaction's connection, one after another.</p>
+     *
+     * @param table    The table you'd like to read from
+     * @param key      The column the values are matched against
+     * @param values   The values you'd like to read
+     * @param clazz    The class you'd like to read into
+     * @param parallel Whether chunks may run at the same time
+     * @param <T>      The type of the objects
+     * @return The objects that were found, by their key, in the order of {@code values}. Values without a row are left out.
+     * @throws SQLException              if there is an error communicating with the database
+     * @throws IllegalAccessException    if there is an error accessing the object
+     * @throws InstantiationException    if there is an error instantiating the object
+     * @throws InvocationTargetException if there is an error invoking the object
+     * @see #getMany(String, String, Collection, Class)
+     */
+    public <T> Map<String, T> getMany(@NotNull String table, @NotNull String key, @NotNull Collection<String> values, @NotNull Class<T> clazz, boolean parallel) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        return getMany(table, key, values, clazz, parallel, true);
     }
 
     /**
-     * Reads {@code Java Objects} from a table
+     * Reads the {@code Java Objects} for many keys at once, like {@link #getMany(String, String, Collection, Class)},
+     * but always from the database. The {@link EntityCache} is neither read nor filled,
+     * so the objects are new instances that nobody else holds.
      *
-     * @param table The table you'd like to read from
-     * @param clazz The class you'd like to read into
-     * @return The object you read into
+     * @param table  The table you'd like to read from
+     * @param key    The column the values are matched against
+     * @param values The values you'd like to read
+     * @param clazz  The class you'd like to read into
+     * @param <T>    The type of the objects
+     * @return The objects that were found, by their key, in the order of {@code values}. Values without a row are left out.
      * @throws SQLException              if there is an error communicating with the database
      * @throws IllegalAccessException    if there is an error accessing the object
      * @throws InstantiationException    if there is an error instantiating the object
      * @throws InvocationTargetException if there is an error invoking the object
      */
-    private Object get(String table, Class<?> clazz, int index) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        String statement = "SELECT * FROM `" + table + "`;";
+    public <T> Map<String, T> getManyUncached(@NotNull String table, @NotNull String key, @NotNull Collection<String> values, @NotNull Class<T> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        return getMany(table, key, values, clazz, false, false);
+    }
+
+    private <T> Map<String, T> getMany(String table, String key, Collection<String> values, Class<T> clazz, boolean parallel, boolean useCache) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        Set<String> keys = new LinkedHashSet<>(values);
+        Map<String, T> found = new HashMap<>();
+        lookedUp(table, key);
+
+        // Reads inside a transaction may see uncommitted rows, so they bypass the cache
+        boolean cached = useCache && cache != null && !isInTransaction();
+        long generation = cached ? cache.getGeneration(table) : 0;
+        List<String> missing = new ArrayList<>();
+        for (String value : keys) {
+            Object object = cached ? cache.get(new CacheKey(table, key, value, clazz)) : null;
+            if (object != null)
+                found.put(value, clazz.cast(object));
+            else
+                missing.add(value);
+        }
+
         if (debug)
-            log("Reading object from table: " + table);
-        ResultSet resultSet = new Statement(statement, connection).executeWithResults();
-
-        // Creates a new instance of the class
-        Object object;
-        Constructor<?> constructor = retrieveConstructor(clazz);
-        ArrayList<Object> parameters = new ArrayList<>();
-
-        HashMap<String, Object> keyValuesHashMap = new HashMap<>();
-
-        int resultSetIndex = 0;
-        while (resultSet.next()) {
-            // Loops through all the columns and adds them to the HashMap
-            if (resultSetIndex == index) {
-                for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
-                    keyValuesHashMap.put(resultSet.getMetaData().getColumnName(i), resultSet.getObject(i));
-                }
+            log("Reading " + missing.size() + " objects from table: " + table + " by " + key + ", " + found.size() + " were cached");
+
+        if (!missing.isEmpty()) {
+            List<List<String>> chunks = new ArrayList<>();
+            for (int i = 0; i < missing.size(); i += chunkSize) {
+                chunks.add(missing.subList(i, Math.min(i + chunkSize, missing.size())));
             }
-            resultSetIndex++;
-        }
 
-        for (Parameter p : constructor.getParameters()) {
-            if (hasAnnotation(p))
-                parameters.add(keyValuesHashMap.get(p.getAnnotation(com.seailz.databaseapi.annotation.Column.class).value()));
+            Map<String, T> read = timedRead("getMany", table, Map::size, () -> parallel && chunks.size() > 1 && !isInTransaction()
+                    ? readChunksInParallel(table, key, chunks, clazz)
+                    : readChunks(table, key, chunks, clazz));
+
+            if (cached)
+                read.forEach((value, object) -> cache.put(new CacheKey(table, key, value, clazz), object, generation));
+            found.putAll(read);
         }
 
-        if (debug)
-            log("Read object from table: " + table);
-        object = constructor.newInstance(parameters.toArray());
-        return object;
+        Map<String, T> ordered = new LinkedHashMap<>();
+        for (String value : keys) {
+            T object = found.get(value);
+            if (object != null)
+                ordered.put(value, object);
+        }
+        return ordered;
     }
 
     /**
-     * Retrieves the correct constructor for a class
+     * Lazily reads every row of a table into {@code Java Objects}
+     * <p></p>
+     * <p>Rows are fetched {@link #getFetchSize()} at a time with a forward-only cursor and mapped as the stream is consumed,</p>
+     * <p>so tables larger than memory can be processed. The stream holds a pooled connection until it's closed,</p>
+     * <p>so always use it in a try-with-resources block:</p>
+     * <pre>
+     *     try (Stream&lt;Player&gt; players = db.stream("players", Player.class)) {
+     *         players.forEach(...);
+     *     }
+     * </pre>
+     * <p>MySQL reads the rows one at a time instead, see {@link #getStreamingFetchSize()}. Until the stream is closed,</p>
+     * <p>its connection can't run anything else, so don't run other queries inside the same transaction while reading it.</p>
      *
-     * @param clazz The class you'd like to get the constructor for
-     * @return The constructor you retrieved
+     * @param table The table you'd like to read from
+     * @param clazz The class you'd like to read into
+     * @param <T>   The type of the objects
+     * @return a {@link Stream} of objects that must be closed
+     * @throws SQLException if there is an error communicating with the database
      */
-    private Constructor<?> retrieveConstructor(Class<?> clazz) {
-        ArrayList<Constructor<?>> constructors = new ArrayList<>(Arrays.asList(clazz.getConstructors()));
-        AtomicReference<Constructor<?>> validConstructor = new AtomicReference<>();
-        for (Constructor<?> constructor : constructors) {
-            constructor.setAccessible(true);
-            Arrays.stream(constructor.getAnnotations()).forEach(annotation -> {
-                if (annotation.annotationType().equals(DatabaseConstructor.class)) {
-                    validConstructor.set(constructor);
-                }
-            });
-        }
-        return validConstructor.get();
+    public <T> Stream<T> stream(@NotNull String table, @NotNull Class<T> clazz) throws SQLException {
+        if (debug)
+            log("Streaming objects from table: " + table);
+        return stream("SELECT " + EntityMetadata.of(clazz).getSelectColumns() + " FROM `" + table + "`", null, clazz);
     }
 
     /**
-     * Checks if a parameter has the {@link com.seailz.databaseapi.annotation.Column} annotation
+     * Lazily reads every row of a table that matches the where clause into {@code Java Objects}
      *
-     * @param param The parameter you'd like to check
-     * @return Whether the parameter has the {@link com.seailz.databaseapi.annotation.Column} annotation
+     * @param table The table you'd like to read from
+     * @param key   The key you'd like to use
+     * @param value The value the key should be
+     * @param clazz The class you'd like to read into
+     * @param <T>   The type of the objects
+     * @return a {@link Stream} of objects that must be closed
+     * @throws SQLException if there is an error communicating with the database
+     * @see #stream(String, Class)
+     */
+    public <T> Stream<T> stream(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull Class<T> clazz) throws SQLException {
+        if (debug)
+            log("Streaming objects from table: " + table + " with key: " + key + " and value: " + value);
+        lookedUp(table, key);
+        return stream("SELECT " + EntityMetadata.of(clazz).getSelectColumns() + " FROM `" + table + "` WHERE `" + key + "` = ?", value, clazz);
+    }
+
+    /**
+     * Read one page of a table into {@code Java Objects}, ordered by a key
+     * <p></p>
+     * <p>Pages are found by seeking past the last key of the page before, rather than with {@code OFFSET},</p>
+     * <p>so with {@code key} indexed, reading a page deep into a large table costs as much as reading the first one.</p>
+     * <p>{@code key} must be unique, such as the primary key, or rows sharing a value across two pages are skipped.</p>
+     * <p>Rows whose key is {@code NULL} can't be sought past, so they're never on a page.</p>
+     *
+     * @param table      The table you'd like to read from
+     * @param clazz      The class you'd like to read into
+     * @param key        The column the table is ordered by
+     * @param afterValue The key of the last object of the page before, see {@link Page#getLastKey()}, or null for the first page
+     * @param limit      The most objects on the page
+     * @param <T>        The type of the objects
+     * @return the page
+     * @throws SQLException if there is an error communicating with the database
+     * @see #pages(String, Class, String, int)
+     */
+    public <T> Page<T> page(@NotNull String table, @NotNull Class<T> clazz, @NotNull String key, @Nullable Object afterValue, int limit) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (limit <= 0)
+            throw new IllegalArgumentException("The limit of a page must be positive");
+
+        EntityMetadata metadata = EntityMetadata.of(clazz);
+        String columns = metadata.getConstructorColumns().contains(key)
+                ? metadata.getSelectColumns()
+                : metadata.getSelectColumns() + ", `" + key + "`";
+        // One row past the limit tells whether there's another page, without a second query
+        String statement = "SELECT " + columns + " FROM `" + table + "` WHERE `" + key + "` IS NOT NULL"
+                + (afterValue != null ? " AND `" + key + "` > ?" : "")
+                + " ORDER BY `" + key + "` LIMIT " + (limit + 1);
+        lookedUp(table, key);
+        if (debug)
+            log("Reading a page of " + limit + " objects from table: " + table + " after " + key + ": " + afterValue);
+
+        return timedRead("page", table, Page::size, () -> {
+            try (Connection connection = getConnection();
+                 PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                if (afterValue != null)
+                    ValueCodec.bindValue(prepStatement, 1, afterValue);
+
+                try (ResultSet resultSet = prepStatement.executeQuery()) {
+                    EntityReader reader = new EntityReader(metadata, resultSet);
+                    int keyIndex = resultSet.findColumn(key);
+
+                    List<T> objects = new ArrayList<>(Math.min(limit, fetchSize));
+                    Object lastKey = null;
+                    while (objects.size() < limit && resultSet.next()) {
+                        objects.add(clazz.cast(reader.read(resultSet)));
+                        lastKey = resultSet.getObject(keyIndex);
+                    }
+                    return new Page<>(objects, lastKey, objects.size() == limit && resultSet.next());
+                }
+            }
+        });
+    }
+
+    /**
+     * Read a table page by page, starting at the beginning
+     *
+     * @param table The table you'd like to read from
+     * @param clazz The class you'd like to read into
+     * @param key   The unique column the table is ordered by
+     * @param limit The most objects on a page
+     * @param <T>   The type of the objects
+     * @return a cursor that reads the pages
+     * @see #page(String, Class, String, Object, int)
+     */
+    public <T> PageCursor<T> pages(@NotNull String table, @NotNull Class<T> clazz, @NotNull String key, int limit) {
+        return pages(table, clazz, key, null, limit);
+    }
+
+    /**
+     * Read a table page by page, starting after a key, such as the {@link PageCursor#getLastKey()} of an earlier cursor
+     *
+     * @param table      The table you'd like to read from
+     * @param clazz      The class you'd like to read into
+     * @param key        The unique column the table is ordered by
+     * @param afterValue The key to start after, or null to start at the beginning
+     * @param limit      The most objects on a page
+     * @param <T>        The type of the objects
+     * @return a cursor that reads the pages
+     * @see #page(String, Class, String, Object, int)
+     */
+    public <T> PageCursor<T> pages(@NotNull String table, @NotNull Class<T> clazz, @NotNull String key, @Nullable Object afterValue, int limit) {
+        return new PageCursor<>(this, table, clazz, key, afterValue, limit);
+    }
+
+    /**
+     * Read every row of a table into {@code Java Objects} with a parallel stream
+     * <p></p>
+     * <p>The table is split into ranges of its primary key, and each range is read with its own query,</p>
+     * <p>on its own pooled connection. The ranges are spread over the fork/join pool like any other parallel stream,</p>
+     * <p>so the rows come back in no particular order. Close the stream if you don't read it to the end:</p>
+     * <pre>
+     *     try (Stream&lt;Player&gt; players = db.parallelStream("players", Player.class)) {
+     *         long total = players.mapToLong(Player::getXp).sum();
+     *     }
+     * </pre>
+     * <p>Inside a transaction the table is read on the transaction's connection, in one range.</p>
+     *
+     * @param table The table you'd like to read from
+     * @param clazz The class you'd like to read into
+     * @param <T>   The type of the objects
+     * @return a parallel stream of the table's objects
+     * @throws SQLException             if there is an error communicating with the database
+     * @throws IllegalArgumentException if the table doesn't have a single-column primary key
+     */
+    public <T> Stream<T> parallelStream(@NotNull String table, @NotNull Class<T> clazz) throws SQLException {
+        TableSchema schema = catalog.getTable(table);
+        String key = schema != null && schema.getPrimaryKey().size() == 1 ? schema.getPrimaryKey().get(0) : null;
+        if (key == null)
+            throw new IllegalArgumentException("Table " + table + " does not have a single-column primary key, pass the column to split on instead");
+
+        return parallelStream(table, key, clazz, defaultPartitions());
+    }
+
+    /**
+     * Read every row of a table into {@code Java Objects} with a parallel stream
+     *
+     * @param table The table you'd like to read from, with its primary key set
+     * @param clazz The class you'd like to read into
+     * @param <T>   The type of the objects
+     * @return a parallel stream of the table's objects
+     * @throws SQLException if there is an error communicating with the database
+     * @see #parallelStream(String, Class)
+     */
+    public <T> Stream<T> parallelStream(@NotNull TableBuilder table, @NotNull Class<T> clazz) throws SQLException {
+        if (table.getPrimaryKey() == null)
+            return parallelStream(table.getName(), clazz);
+        return parallelStream(table.getName(), table.getPrimaryKey(), clazz, defaultPartitions());
+    }
+
+    /**
+     * Read every row of a table into {@code Java Objects} with a parallel stream
+     * <p></p>
+     * <p>{@code key} should be indexed and hold mostly distinct values, like a primary key. Integer keys are split</p>
+     * <p>evenly between their smallest and largest value, so they should also be spread evenly, like an auto-increment id.</p>
+     * <p>Other keys are read once, in order, to split them into ranges that hold about as many rows each.</p>
+     * <p>Rows whose key is {@code NULL} are read with the first range.</p>
+     *
+     * @param table      The table you'd like to read from
+     * @param key        The column the table is split on
+     * @param clazz      The class you'd like to read into
+     * @param partitions How many ranges the table is split into
+     * @param <T>        The type of the objects
+     * @return a parallel stream of the table's objects
+     * @throws SQLException if there is an error communicating with the database
+     * @see #parallelStream(String, Class)
+     */
+    public <T> Stream<T> parallelStream(@NotNull String table, @NotNull String key, @NotNull Class<T> clazz, int partitions) throws SQLException {
+        // The transaction's connection can only be used by this thread
+        if (isInTransaction())
+            return stream(table, clazz);
+
+        long[] rows = new long[1];
+        Object[] bounds = new Object[2];
+        withConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement("SELECT COUNT(*), MIN(`" + key + "`), MAX(`" + key + "`) FROM `" + table + "`");
+                 ResultSet set = prepStatement.executeQuery()) {
+                if (set.next()) {
+                    rows[0] = set.getLong(1);
+                    bounds[0] = set.getObject(2);
+                    bounds[1] = set.getObject(3);
+                }
+                return null;
+            }
+        });
+
+        List<Object> boundaries = partitions > 1 && rows[0] > partitions
+                ? boundaries(table, key, partitions, rows[0], bounds[0], bounds[1])
+                : Collections.emptyList();
+
+        if (debug)
+            log("Scanning table: " + table + " in " + (boundaries.size() + 1) + " ranges of " + key);
+
+        PartitionedScan<T> scan = new PartitionedScan<>(this, table, key, boundaries, rows[0] / (boundaries.size() + 1) + 1, clazz);
+        return StreamSupport.stream(scan, true).onClose(scan::close);
+    }
+
+    /**
+     * Finds the key where each range after the first starts. Integer keys are split evenly between their
+     * smallest and largest value, without reading them. Other keys are read once, in order, and split into
+     * ranges of about as many rows each.
+     *
+     * @return the boundaries, in ascending order and without duplicates
+     */
+    private List<Object> boundaries(String table, String key, int partitions, long rows, @Nullable Object min, @Nullable Object max) throws SQLException {
+        List<Object> boundaries = new ArrayList<>();
+        if (isIntegral(min) && isIntegral(max)) {
+            long low = ((Number) min).longValue();
+            BigInteger span = BigInteger.valueOf(((Number) max).longValue()).subtract(BigInteger.valueOf(low));
+            for (int i = 1; i < partitions; i++) {
+                long boundary = span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(partitions)).longValue() + low;
+                if (boundary > low && (boundaries.isEmpty() || boundary > (Long) boundaries.get(boundaries.size() - 1)))
+                    boundaries.add(boundary);
+            }
+            return boundaries;
+        }
+
+        withConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement("SELECT `" + key + "` FROM `" + table + "` WHERE `" + key + "` IS NOT NULL ORDER BY `" + key + "`",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                prepStatement.setFetchSize(getStreamingFetchSize());
+                try (ResultSet set = prepStatement.executeQuery()) {
+                    long index = 0;
+                    int next = 1;
+                    while (next < partitions && set.next()) {
+                        if (index++ < rows * next / partitions) continue;
+                        next++;
+                        Object boundary = set.getObject(1);
+                        if (boundaries.isEmpty() || !boundary.equals(boundaries.get(boundaries.size() - 1)))
+                            boundaries.add(boundary);
+                    }
+                }
+            }
+            return null;
+        });
+        return boundaries;
+    }
+
+    private static boolean isIntegral(@Nullable Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger && ((BigInteger) value).bitLength() < 64;
+    }
+
+    /**
+     * @return how many ranges a parallel scan uses by default. As many ranges can be read at once as there are cores,
+     * or connections if there are fewer, and each of those gets a few ranges so uneven ones still balance out.
+     */
+    private int defaultPartitions() {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), poolSettings.getMaxSize())) * 4;
+    }
+
+    private <T> Stream<T> stream(String statement, @Nullable String value, Class<T> clazz) throws SQLException {
+        EntityMetadata metadata = EntityMetadata.of(clazz);
+        Connection connection = getConnection();
+        try {
+            PreparedStatement prepStatement = connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            prepStatement.setFetchSize(getStreamingFetchSize());
+            if (value != null)
+                prepStatement.setString(1, value);
+
+            ResultSet resultSet = prepStatement.executeQuery();
+            EntityReader reader = new EntityReader(metadata, resultSet);
+
+            AtomicBoolean closed = new AtomicBoolean();
+            Runnable close = () -> {
+                if (!closed.compareAndSet(false, true)) return;
+                try {
+                    try {
+                        resultSet.close();
+                        prepStatement.close();
+                    } finally {
+                        connection.close();
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Failed to close stream", e);
+                }
+            };
+
+            Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                @SneakyThrows
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    if (closed.get() || !resultSet.next()) {
+                        // Give the connection back as soon as the rows run out
+                        close.run();
+                        return false;
+                    }
+                    action.accept(clazz.cast(reader.read(resultSet)));
+                    return true;
+                }
+            };
+
+            return StreamSupport.stream(spliterator, false).onClose(close);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a query once and maps every row into a new {@code Java Object} as it's read
+     *
+     * @param operation The operation reported to listeners
+     * @param table     The table that's read
+     * @param statement The query you'd like to run
+     * @param value     The value bound to the query's only parameter, or null if it has none
+     * @param clazz     The class you'd like to read into
+     * @return The objects that were read, in the order of the result set
+     * @throws SQLException              if there is an error communicating with the database
+     * @throws IllegalAccessException    if there is an error accessing the object
+     * @throws InstantiationException    if there is an error instantiating the object
+     * @throws InvocationTargetException if there is an error invoking the object
+     */
+    private List<Object> readObjects(String operation, String table, String statement, @Nullable String value, Class<?> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        return timedRead(operation, table, List::size, () -> readObjects(statement, value, clazz));
+    }
+
+    /**
+     * Reads objects like {@link #readObjects(String, String, String, String, Class)}, without reporting to listeners
+     */
+    private List<Object> readObjects(String statement, @Nullable String value, Class<?> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        EntityMetadata metadata = EntityMetadata.of(clazz);
+
+        try (Connection connection = getConnection();
+             PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+            if (value != null)
+                prepStatement.setString(1, value);
+
+            try (ResultSet resultSet = prepStatement.executeQuery()) {
+                EntityReader reader = new EntityReader(metadata, resultSet);
+
+                List<Object> objects = new ArrayList<>();
+                while (resultSet.next()) {
+                    objects.add(reader.read(resultSet));
+                }
+
+                if (debug)
+                    log("Read " + objects.size() + " objects");
+                return objects;
+            }
+        }
+    }
+
+    private <T> Map<String, T> readChunks(String table, String key, List<List<String>> chunks, Class<T> clazz) throws SQLException, InvocationTargetException {
+        Map<String, T> read = new HashMap<>();
+        for (List<String> chunk : chunks) {
+            read.putAll(readChunk(table, key, chunk, clazz));
+        }
+        return read;
+    }
+
+    private <T> Map<String, T> readChunksInParallel(String table, String key, List<List<String>> chunks, Class<T> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        List<FutureTask<Map<String, T>>> tasks = new ArrayList<>(chunks.size());
+        for (List<String> chunk : chunks) {
+            FutureTask<Map<String, T>> task = new FutureTask<>(() -> readChunk(table, key, chunk, clazz));
+            tasks.add(task);
+            // The first chunk is left for this thread, it would only wait otherwise
+            if (tasks.size() > 1)
+                async().tryExecute(task);
+        }
+
+        Map<String, T> read = new HashMap<>();
+        for (FutureTask<Map<String, T>> task : tasks) {
+            // Does nothing if a worker already ran or is running the chunk
+            task.run();
+            try {
+                read.putAll(task.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while reading chunks", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) throw (SQLException) cause;
+                if (cause instanceof InvocationTargetException) throw (InvocationTargetException) cause;
+                if (cause instanceof InstantiationException) throw (InstantiationException) cause;
+                if (cause instanceof IllegalAccessException) throw (IllegalAccessException) cause;
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new SQLException(cause);
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Reads the objects for one chunk of keys with a single {@code IN} query
+     * <p></p>
+     * <p>The database may match a key the caller wrote differently, such as {@code "bob"} for {@code "Bob"}</p>
+     * <p>under a case-insensitive collation, or {@code "007"} for {@code 7} on a numeric column. Each row goes</p>
+     * <p>to the value it equals exactly, or otherwise to the values it equals ignoring case, trailing spaces</p>
+     * <p>and the way a number is written. A row that equals a value exactly isn't given to any other value,</p>
+     * <p>since under a case-sensitive collation it couldn't have matched them.</p>
+     *
+     * @return the objects that were found, by the value they were requested with
+     */
+    private <T> Map<String, T> readChunk(String table, String key, List<String> chunk, Class<T> clazz) throws SQLException, InvocationTargetException {
+        EntityMetadata metadata = EntityMetadata.of(clazz);
+        String columns = metadata.getConstructorColumns().contains(key)
+                ? metadata.getSelectColumns()
+                : metadata.getSelectColumns() + ", `" + key + "`";
+        String statement = "SELECT " + columns + " FROM `" + table + "` WHERE `" + key + "` IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+        try (Connection connection = getConnection();
+             PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                prepStatement.setString(i + 1, chunk.get(i));
+            }
+
+            try (ResultSet resultSet = prepStatement.executeQuery()) {
+                EntityReader reader = new EntityReader(metadata, resultSet);
+                int keyIndex = resultSet.findColumn(key);
+
+                Map<String, T> objects = new HashMap<>();
+                Map<String, T> inexact = new HashMap<>();
+                Set<String> requested = new HashSet<>(chunk);
+                while (resultSet.next()) {
+                    String found = resultSet.getString(keyIndex);
+                    T object = clazz.cast(reader.read(resultSet));
+                    if (requested.contains(found))
+                        objects.putIfAbsent(found, object);
+                    else if (found != null)
+                        inexact.putIfAbsent(normalizeKey(found), object);
+                }
+
+                if (!inexact.isEmpty()) {
+                    for (String value : chunk) {
+                        if (objects.containsKey(value)) continue;
+                        T object = inexact.get(normalizeKey(value));
+                        if (object != null)
+                            objects.put(value, object);
+                    }
+                }
+                return objects;
+            }
+        }
+    }
+
+    /**
+     * @return a key as the database is likely to compare it: ignoring case and trailing spaces, and numbers by their value
+     */
+    private static String normalizeKey(@NotNull String key) {
+        String trimmed = key.replaceFirst("\\s+$", "");
+        try {
+            return new BigDecimal(trimmed.trim()).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Runs a read that maps objects, reporting it to the listeners like {@link #timed(String, String, boolean, ToLongFunction, SqlSupplier)}
+     */
+    private <T> T timedRead(@NotNull String operation, @Nullable String table, @NotNull ToLongFunction<? super T> rows, @NotNull ReadSupplier<T> work) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (listeners.isEmpty())
+            return work.get();
+
+        long start = System.nanoTime();
+        T result = null;
+        Throwable error = null;
+        try {
+            result = work.get();
+            return result;
+        } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            fire(operation, table, false, start, error == null ? rows.applyAsLong(result) : 0, error);
+        }
+    }
+
+    /**
+     * Run a query and map every row of its results. The statement and its results are closed,
+     * and the connection returned to the pool, before this returns.
+     * <p></p>
+     * <pre>
+     *     List&lt;String&gt; names = db.query("SELECT name FROM players WHERE age &gt; ?", (row, i) -&gt; row.getString("name"), 18);
+     * </pre>
+     *
+     * @param sql        The query you'd like to run
+     * @param mapper     Maps each row into an object
+     * @param parameters The values bound to the query's parameters, in order
+     * @param <T>        The type of the objects
+     * @return the mapped rows, in the order of the results
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public <T> List<T> query(@NotNull String sql, @NotNull RowMapper<T> mapper, Object... parameters) throws SQLException {
+        if (debug)
+            log("Running query: " + sql);
+        return timed("query", null, false, List::size, () -> withConnection(connection -> {
+            try (Statement statement = new Statement(connection)) {
+                return statement.query(sql, mapper, parameters);
+            }
+        }));
+    }
+
+    /**
+     * Run an insert, update, delete or DDL statement. The statement is closed, and the connection
+     * returned to the pool, before this returns.
+     * <p></p>
+     * <p>The statement could touch any table, so the whole object cache is cleared.</p>
+     *
+     * @param sql        The statement you'd like to run
+     * @param parameters The values bound to the statement's parameters, in order
+     * @return how many rows were changed
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public int executeUpdate(@NotNull String sql, Object... parameters) throws SQLException {
+        if (debug)
+            log("Running update: " + sql);
+        int changed = timed("executeUpdate", null, true, count -> count, () -> withWriteConnection(connection -> {
+            try (Statement statement = new Statement(connection)) {
+                return statement.executeUpdate(sql, parameters);
+            }
+        }));
+        if (cache != null)
+            cache.clear();
+        return changed;
+    }
+
+    /**
+     * Run some work with a connection, returning it to the pool afterwards.
+     * If this thread is in a transaction, the transaction's connection is used instead.
+     *
+     * @param callback The work you'd like to run
+     * @param <T>      The type of the result
+     * @return the result of the callback
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public <T> T withConnection(@NotNull ConnectionCallback<T> callback) throws SQLException {
+        Connection connection = transaction.get();
+        if (connection != null)
+            return callback.apply(connection);
+        if (pool == null)
+            throw new IllegalStateException("Not connected, call connect() first");
+        return pool.withConnection(callback);
+    }
+
+    /**
+     * Runs writes on the single writer connection, if there is one. Otherwise this is {@link #withConnection(ConnectionCallback)}.
+     */
+    private <T> T withWriteConnection(@NotNull ConnectionCallback<T> callback) throws SQLException {
+        ConnectionPool writer = writerPool;
+        if (writer == null || isInTransaction())
+            return withConnection(callback);
+        return writer.withConnection(callback);
+    }
+
+    /**
+     * Run some work in a transaction. If this thread is already in a transaction, the work joins it.
+     * Otherwise a transaction is started, and committed if the work succeeds or rolled back if it fails.
+     * Like {@link #startTransaction()}, every method the work calls from this thread joins the transaction.
+     *
+     * @param callback The work you'd like to run
+     * @param <T>      The type of the result
+     * @return the result of the callback
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public <T> T withTransaction(@NotNull ConnectionCallback<T> callback) throws SQLException {
+        if (isInTransaction())
+            return callback.apply(transaction.get());
+
+        startTransaction();
+        T result;
+        try {
+            result = callback.apply(transaction.get());
+        } catch (SQLException | RuntimeException | Error e) {
+            try {
+                rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        commit();
+        return result;
+    }
+
+    /**
+     * Removes a table's objects from the cache after it has been written to.
+     * Inside a transaction the table is invalidated again once the transaction ends,
+     * in case another thread cached the old rows in the meantime.
+     *
+     * @param table The table that was written to
+     */
+    private void invalidate(@NotNull String table) {
+        if (cache == null) return;
+
+        cache.invalidate(table);
+        if (isInTransaction())
+            transactionWrites.get().add(table);
+    }
+
+    private void lookedUp(@NotNull String table, @NotNull String key) {
+        IndexAdvisor advisor = indexAdvisor;
+        if (advisor != null)
+            advisor.record(table, key);
+    }
+
+    /**
+     * Forgets a table's schema and cached objects after its schema has been changed
+     *
+     * @param table The table that was changed
+     */
+    private void schemaChanged(@NotNull String table) {
+        catalog.invalidate(table);
+        invalidate(table);
+    }
+
+    private void invalidateTransactionWrites() {
+        Set<String> tables = transactionWrites.get();
+        if (cache != null)
+            tables.forEach(cache::invalidate);
+        tables.clear();
+    }
+
+    /**
+     * Writes a single row of typed values, binding each with the JDBC method for its type
+     *
+     * @param table  The table you'd like to insert to
+     * @param values A map of columns to values
+     * @throws SQLException if there is an error communicating with the database
+     */
+    private void insertRow(@NotNull String table, @NotNull Map<String, ?> values) throws SQLException {
+        List<String> columns = new ArrayList<>(values.keySet());
+        String statement = insertStatement(table, columns);
+
+        if (debug)
+            log("Inserting into table: " + table + " with values: " + values + " with statement: " + statement);
+        writeRow("insert", table, columns, values, statement);
+    }
+
+    /**
+     * Inserts or updates a single row of typed values
+     *
+     * @param table  The table you'd like to write to
+     * @param values A map of columns to values
+     * @param keys   The columns that identify the row
+     * @throws SQLException if there is an error communicating with the database
+     */
+    private void upsertRow(@NotNull String table, @NotNull Map<String, ?> values, @NotNull String... keys) throws SQLException {
+        List<String> columns = new ArrayList<>(values.keySet());
+        String statement = upsertStatement(table, columns, keys);
+
+        if (debug)
+            log("Upserting into table: " + table + " with values: " + values + " with statement: " + statement);
+        writeRow("upsert", table, columns, values, statement);
+    }
+
+    private void writeRow(@NotNull String operation, @NotNull String table, @NotNull List<String> columns, @NotNull Map<String, ?> values, @NotNull String statement) throws SQLException {
+        timed(operation, table, true, count -> count, () -> withWriteConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                bindRow(prepStatement, columns, values);
+                return prepStatement.executeUpdate();
+            }
+        }));
+        invalidate(table);
+    }
+
+    /**
+     * Writes an object with a statement whose parameters are the object's columns, in {@link EntityMetadata#getColumns()} order
+     */
+    private void writeObject(@NotNull String operation, @NotNull String table, @NotNull Object object, @NotNull String statement) throws SQLException {
+        timed(operation, table, true, count -> count, () -> withWriteConnection(connection -> {
+            try (PreparedStatement prepStatement = connection.prepareStatement(statement)) {
+                bindObject(prepStatement, null, object);
+                return prepStatement.executeUpdate();
+            }
+        }));
+        invalidate(table);
+    }
+
+    private void bindRow(@NotNull PreparedStatement prepStatement, @NotNull List<String> columns, @NotNull Map<String, ?> row) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            ValueCodec.bindValue(prepStatement, i + 1, row.get(columns.get(i)));
+        }
+    }
+
+    private void bindObject(@NotNull PreparedStatement prepStatement, @Nullable List<String> columns, @NotNull Object object) throws SQLException {
+        EntityMetadata.of(object.getClass()).bind(prepStatement, object);
+    }
+
+    /**
+     * Groups rows by the columns they set, so each group can share one statement
+     */
+    private Map<List<String>, List<Map<String, ?>>> rowGroups(@NotNull List<? extends Map<String, ?>> rows) {
+        Map<List<String>, List<Map<String, ?>>> groups = new LinkedHashMap<>();
+        for (Map<String, ?> row : rows) {
+            groups.computeIfAbsent(new ArrayList<>(new TreeSet<>(row.keySet())), columns -> new ArrayList<>()).add(row);
+        }
+        return groups;
+    }
+
+    /**
+     * Groups objects by the columns their class saves, so each group can share one statement
+     */
+    private Map<List<String>, List<Object>> objectGroups(@NotNull List<?> objects) {
+        Map<List<String>, List<Object>> groups = new LinkedHashMap<>();
+        for (Object object : objects) {
+            groups.computeIfAbsent(EntityMetadata.of(object.getClass()).getColumns(), columns -> new ArrayList<>()).add(object);
+        }
+        return groups;
+    }
+
+    /**
+     * Writes rows with JDBC batching in a single transaction. Each group of rows sets the same columns,
+     * and shares one statement.
+     *
+     * @param operation The operation reported to listeners
+     * @param table     The table that's written to
+     * @param groups    The rows to write, grouped by the columns they set
+     * @param rows      The total amount of rows
+     * @param statement Builds the statement for a group from its columns, in binding order
+     * @param binder    Binds a row to the statement
+     * @throws SQLException if there is an error, in which case nothing is written
+     */
+    private <R> void batch(@NotNull String operation, @NotNull String table, @NotNull Map<List<String>, ? extends List<? extends R>> groups, int rows,
+                           @NotNull Function<List<String>, String> statement, @NotNull RowBinder<R> binder) throws SQLException {
+        if (groups.isEmpty()) return;
+
+        timed(operation, table, true, done -> rows, () -> withTransaction(connection -> {
+            for (Map.Entry<List<String>, ? extends List<? extends R>> group : groups.entrySet()) {
+                List<String> columns = group.getKey();
+
+                // Batches are prepared once per call, so they skip the statement cache and its per-call overhead
+                try (PreparedStatement prepStatement = UncachedPreparer.prepareUncached(connection, statement.apply(columns))) {
+                    int pending = 0;
+                    for (R row : group.getValue()) {
+                        binder.bind(prepStatement, columns, row);
+                        prepStatement.addBatch();
+
+                        if (++pending == batchSize) {
+                            prepStatement.executeBatch();
+                            pending = 0;
+                        }
+                    }
+
+                    if (pending > 0)
+                        prepStatement.executeBatch();
+                }
+            }
+            return null;
+        }));
+        invalidate(table);
+    }
+
+    /**
+     * Work that reads objects, which can fail while mapping them as well as in the database
+     */
+    private interface ReadSupplier<T> {
+        T get() throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException;
+    }
+
+    /**
+     * Reads from the row a result set is on
+     */
+    private interface RowReader {
+        void read(ResultSet set) throws SQLException;
+    }
+
+    /**
+     * Binds one row of a batch to its statement
+     */
+    private interface RowBinder<R> {
+        void bind(PreparedStatement statement, List<String> columns, R row) throws SQLException;
+    }
+
+    /**
+     * Builds a parameterized update statement, whose parameters are the set columns followed by the key
+     *
+     * @param table   The table to update
+     * @param key     The column that identifies the row
+     * @param columns The columns of the row, which may include the key
+     * @return the statement
+     */
+    private String updateStatement(@NotNull String table, @NotNull String key, @NotNull List<String> columns) {
+        String set = columns.stream()
+                .filter(column -> !column.equals(key))
+                .map(column -> "`" + column + "` = ?")
+                .collect(Collectors.joining(", "));
+        if (set.isEmpty())
+            throw new IllegalArgumentException("An update needs at least one column besides " + key);
+        return "UPDATE `" + table + "` SET " + set + " WHERE `" + key + "` = ?";
+    }
+
+    /**
+     * Builds a parameterized insert statement
+     *
+     * @param table   The table to insert into
+     * @param columns The columns that are set, in the order their parameters will be bound
+     * @return the statement
+     */
+    private String insertStatement(@NotNull String table, @NotNull List<String> columns) {
+        StringBuilder statement = new StringBuilder("insert into `" + table + "` (\n\t");
+        statement.append(String.join(",", columns)).append("\n)\n\t values (\n\t");
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i != columns.size() - 1)
+                statement.append("?, ");
+            else
+                statement.append("?\n)");
+        }
+        return statement.toString();
+    }
+
+    /**
+     * Builds a parameterized insert statement that updates the existing row when the key is already taken
+     *
+     * @param table   The table to insert into
+     * @param columns The columns that are set, in the order their parameters will be bound
+     * @param keys    The columns that identify a row. These aren't updated.
+     * @return the statement
+     */
+    private String upsertStatement(@NotNull String table, @NotNull List<String> columns, @NotNull String... keys) {
+        List<String> keyColumns = Arrays.asList(keys);
+        List<String> updated = columns.stream().filter(column -> !keyColumns.contains(column)).collect(Collectors.toList());
+        StringBuilder statement = new StringBuilder(insertStatement(table, columns));
+
+        if (getSqlLiteFile() != null) {
+            if (keyColumns.isEmpty())
+                throw new IllegalArgumentException("SQLite needs the key columns to detect a conflict");
+
+            statement.append(" ON CONFLICT (")
+                    .append(keyColumns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", ")))
+                    .append(")");
+            if (updated.isEmpty())
+                return statement.append(" DO NOTHING").toString();
+
+            return statement.append(" DO UPDATE SET ")
+                    .append(updated.stream().map(column -> "`" + column + "` = excluded.`" + column + "`").collect(Collectors.joining(", ")))
+                    .toString();
+        }
+
+        // MySQL finds the conflicting row through the table's unique indexes itself
+        if (updated.isEmpty())
+            updated = columns.subList(0, 1);
+        return statement.append(" ON DUPLICATE KEY UPDATE ")
+                .append(updated.stream().map(column -> "`" + column + "` = VALUES(`" + column + "`)").collect(Collectors.joining(", ")))
+                .toString();
+    }
+
+    /**
+     * Executes a statement on a pooled connection
+     *
+     * @param operation The operation reported to listeners
+     * @param table     The table the statement touches, if any
+     * @param statement The statement you'd like to execute
+     * @throws SQLException if there is an error communicating with the database
+     */
+    private void execute(@NotNull String operation, @Nullable String table, @NotNull String statement) throws SQLException {
+        timed(operation, table, true, done -> 0, () -> withWriteConnection(connection -> {
+            new Statement(statement, connection).execute();
+            return null;
+        }));
+    }
+
+    /**
+     * Runs a query on a pooled connection. The rows are read as they're needed, and the connection
+     * stays borrowed until the returned {@link ResultSet} is closed.
+     *
+     * @param operation The operation reported to listeners
+     * @param table     The table that's read, if any
+     * @param statement The query you'd like to run
+     * @return a {@link ResultSet} that gives its connection back when it's closed
+     * @throws SQLException if there is an error communicating with the database
+     */
+    private ResultSet query(@NotNull String operation, @Nullable String table, @NotNull String statement) throws SQLException {
+        return timed(operation, table, false, set -> 0, () -> {
+            Connection connection = getConnection();
+            try {
+                java.sql.Statement query = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                query.setFetchSize(getStreamingFetchSize());
+                return ConnectionPool.closingConnection(query.executeQuery(statement), connection);
+            } catch (SQLException | RuntimeException e) {
+                // Closing the connection also closes a statement that was opened on it
+                connection.close();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Runs some work, reporting it to the listeners. When there are no listeners the work runs as-is,
+     * so metrics cost nothing unless they're used.
+     *
+     * @param operation The operation reported to listeners
+     * @param table     The table the work touches, if any
+     * @param write     Whether the work writes
+     * @param rows      Counts the rows read or written from the result
+     * @param work      The work you'd like to run
+     * @param <T>       The type of the result
+     * @return the result of the work
+     * @throws SQLException if the work fails
+     */
+    private <T> T timed(@NotNull String operation, @Nullable String table, boolean write, @NotNull ToLongFunction<? super T> rows, @NotNull SqlSupplier<T> work) throws SQLException {
+        if (listeners.isEmpty())
+            return work.get();
+
+        long start = System.nanoTime();
+        T result = null;
+        Throwable error = null;
+        try {
+            result = work.get();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            fire(operation, table, write, start, error == null ? rows.applyAsLong(result) : 0, error);
+        }
+    }
+
+    /**
+     * Reports a finished operation to the listeners. A listener that throws is logged and skipped,
+     * so it can't break the operation it's observing.
+     */
+    private void fire(@NotNull String operation, @Nullable String table, boolean write, long start, long rows, @Nullable Throwable error) {
+        QueryEvent event = new QueryEvent(operation, table, System.nanoTime() - start, write, rows, error);
+        for (DatabaseListener listener : listeners) {
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException e) {
+                Logger.getLogger("Database").log(Level.WARNING, "Listener failed on " + operation, e);
+            }
+        }
+    }
+
+    /**
+     * Like {@link ConnectionCallback}, for work that doesn't need a connection passed in
      */
-    private boolean hasAnnotation(Parameter param) {
-        return param.isAnnotationPresent(com.seailz.databaseapi.annotation.Column.class);
+    private interface SqlSupplier<T> {
+        T get() throws SQLException;
     }
 
     /**
@@ -0,0 +1,34 @@
+package com.seailz.databaseapi;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an index on a table
+ * <p></p>
+ * <p>MySQL and SQLite don't have {@code INCLUDE} columns, so a covering index is made by appending</p>
+ * <p>the {@link #getInclude() included} columns after the key columns. Lookups on the key columns can</p>
+ * <p>then be answered from the index alone. Unique indexes ignore included columns, since appending them</p>
+ * <p>would only make the combination of key and included columns unique.</p>
+ *
+ * @author Seailz
+ */
+@Data
+public class Index {
+    /**
+     * The key columns, in order
+     */
+    private final List<String> columns;
+    /**
+     * The name of the index. If it isn't set, one is made from the table and the columns.
+     */
+    private String name = null;
+    private boolean unique = false;
+    /**
+     * Columns stored in the index after the key columns, so queries reading them don't have to visit the table.
+     * Ignored if the index is unique.
+     */
+    private List<String> include = new ArrayList<>();
+}
@@ -1,32 +1,79 @@
 package com.seailz.databaseapi;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import com.seailz.databaseapi.mapping.RowMapper;
+import com.seailz.databaseapi.mapping.ValueCodec;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
 /**
  * Create a new Statement
+ * <p></p>
+ * <p>A statement owns every JDBC resource it opens, and closes them all when it's closed:</p>
+ * <pre>
+ *     try (Statement statement = new Statement(connection)) {
+ *         List&lt;String&gt; names = statement.query("SELECT name FROM players WHERE age &gt; ?", (row, i) -&gt; row.getString(1), 18);
+ *     }
+ * </pre>
+ * <p>{@link #query(String, RowMapper, Object...)} and {@link #executeUpdate(String, Object...)} close their resources</p>
+ * <p>before they return, so their results never depend on an open cursor.</p>
  *
  * @author Seailz
  */
-@Data
-@AllArgsConstructor
-public class Statement {
+@Getter
+@Setter
+public class Statement implements AutoCloseable {
 
     private String value;
     private Connection connection;
 
+    /**
+     * The statements and result sets opened by {@link #executeWithResults()}, closed in reverse order
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Deque<AutoCloseable> resources = new ArrayDeque<>();
+
+    public Statement(String value, Connection connection) {
+        this.value = value;
+        this.connection = connection;
+    }
+
+    /**
+     * Create a statement for running queries with {@link #query(String, RowMapper, Object...)} and {@link #executeUpdate(String, Object...)}
+     *
+     * @param connection The connection the statement runs on. It isn't closed with the statement.
+     */
+    public Statement(@NotNull Connection connection) {
+        this(null, connection);
+    }
+
     /**
      * Execute your statement
+     * <p></p>
+     * <p>The returned {@link ResultSet}, and the statement behind it, stay open until this statement is closed,</p>
+     * <p>so use it in a try-with-resources block.</p>
      *
      * @return a {@link ResultSet}
      */
     @SneakyThrows
     public ResultSet executeWithResults() {
-        return connection.createStatement().executeQuery(getValue());
+        PreparedStatement statement = connection.prepareStatement(getValue());
+        resources.push(statement);
+        ResultSet resultSet = statement.executeQuery();
+        resources.push(resultSet);
+        return resultSet;
     }
 
     /**
@@ -34,7 +81,79 @@ public class Statement {
      */
     @SneakyThrows
     public void execute() {
-        connection.createStatement().execute(getValue());
+        try (PreparedStatement statement = connection.prepareStatement(getValue())) {
+            statement.execute();
+        }
+    }
+
+    /**
+     * Run a query and map every row of its results. The results are closed before this returns.
+     *
+     * @param sql        The query you'd like to run
+     * @param mapper     Maps each row into an object
+     * @param parameters The values bound to the query's parameters, in order
+     * @param <T>        The type of the objects
+     * @return the mapped rows, in the order of the results
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public <T> List<T> query(@NotNull String sql, @NotNull RowMapper<T> mapper, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(sql, parameters);
+             ResultSet resultSet = statement.executeQuery()) {
+            List<T> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                rows.add(mapper.map(resultSet, rows.size()));
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Run an insert, update, delete or DDL statement
+     *
+     * @param sql        The statement you'd like to run
+     * @param parameters The values bound to the statement's parameters, in order
+     * @return how many rows were changed
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public int executeUpdate(@NotNull String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = prepare(sql, parameters)) {
+            return statement.executeUpdate();
+        }
     }
-}
 
+    private PreparedStatement prepare(String sql, Object[] parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < parameters.length; i++) {
+                ValueCodec.bindValue(statement, i + 1, parameters[i]);
+            }
+            return statement;
+        } catch (SQLException | RuntimeException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Close every result set and statement this statement opened. The connection stays open.
+     *
+     * @throws SQLException if a resource could not be closed. The rest are still closed.
+     */
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        while (!resources.isEmpty()) {
+            try {
+                resources.pop().close();
+            } catch (Exception e) {
+                SQLException exception = e instanceof SQLException ? (SQLException) e : new SQLException(e);
+                if (failure == null)
+                    failure = exception;
+                else
+                    failure.addSuppressed(exception);
+            }
+        }
+        if (failure != null)
+            throw failure;
+    }
+}
@@ -0,0 +1,53 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import lombok.Getter;
+
+/**
+ * Configures the executor behind {@link com.seailz.databaseapi.Database#async()}
+ *
+ * @author Seailz
+ */
+@Getter
+public class AsyncBuilder {
+
+    private int threads = 0;
+    private int queueSize = 1000;
+    private boolean blockWhenFull = false;
+    private boolean virtualThreads = false;
+
+    /**
+     * @param threads The amount of worker threads. {@code 0} uses the maximum size of the connection pool.
+     */
+    public AsyncBuilder threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @param queueSize How many tasks may wait for a worker before new tasks are held back
+     */
+    public AsyncBuilder queueSize(int queueSize) {
+        this.queueSize = queueSize;
+        return this;
+    }
+
+    /**
+     * @param blockWhenFull Whether submitting to a full queue blocks the caller until there's room.
+     *                      If false, the default, the returned future fails with a {@link java.util.concurrent.RejectedExecutionException} instead,
+     *                      so a thread that must never stall, like a server's main thread, never waits on the database.
+     */
+    public AsyncBuilder blockWhenFull(boolean blockWhenFull) {
+        this.blockWhenFull = blockWhenFull;
+        return this;
+    }
+
+    /**
+     * @param virtualThreads Whether to run tasks on virtual threads when the JDK supports them (Java 21+).
+     *                       The amount of running and queued tasks is still limited by {@code threads} and {@code queueSize}.
+     */
+    public AsyncBuilder virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+}
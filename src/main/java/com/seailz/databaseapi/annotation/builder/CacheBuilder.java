@@ -0,0 +1,45 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures a {@link com.seailz.databaseapi.cache.LruEntityCache}
+ *
+ * @author Seailz
+ */
+@Getter
+public class CacheBuilder {
+
+    private int maxSize = 10_000;
+    private long ttl = TimeUnit.MINUTES.toMillis(5);
+    private HashMap<String, Long> tableTtls = new HashMap<>();
+
+    /**
+     * @param maxSize The maximum amount of objects to keep. The least recently used are evicted first.
+     */
+    public CacheBuilder maxSize(int maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * @param ttl How long, in milliseconds, objects stay cached. {@code 0} keeps them until they're evicted or invalidated.
+     */
+    public CacheBuilder ttl(long ttl) {
+        this.ttl = ttl;
+        return this;
+    }
+
+    /**
+     * @param table The table
+     * @param ttl   How long, in milliseconds, objects from that table stay cached, instead of the default
+     */
+    public CacheBuilder ttl(String table, long ttl) {
+        tableTtls.put(table, ttl);
+        return this;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import lombok.Getter;
+
+/**
+ * Configures {@link com.seailz.databaseapi.Database#exportToCSV(String, String, ExportBuilder)}
+ *
+ * @author Seailz
+ */
+@Getter
+public class ExportBuilder {
+
+    private boolean header = false;
+    private char delimiter = ',';
+    private String lineSeparator = "\n";
+    private boolean gzip = false;
+    private boolean parallel = false;
+    private int blockSize = 1_000;
+    private int bufferSize = 1 << 20;
+
+    /**
+     * @param header Whether the first line holds the column names
+     */
+    public ExportBuilder header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * @param delimiter The character between fields
+     */
+    public ExportBuilder delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * @param lineSeparator What ends each row. RFC 4180 uses {@code "\r\n"}.
+     */
+    public ExportBuilder lineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+        return this;
+    }
+
+    /**
+     * @param gzip Whether the file is compressed with gzip
+     */
+    public ExportBuilder gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    /**
+     * @param parallel Whether blocks of rows are formatted on the fork/join pool while the next rows are fetched
+     */
+    public ExportBuilder parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * @param blockSize How many rows are formatted together in parallel mode
+     */
+    public ExportBuilder blockSize(int blockSize) {
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * @param bufferSize The size of the write buffer, in bytes
+     */
+    public ExportBuilder bufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+}
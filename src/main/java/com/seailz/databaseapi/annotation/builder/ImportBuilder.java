@@ -0,0 +1,112 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import com.seailz.databaseapi.csv.ImportError;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Configures {@link com.seailz.databaseapi.Database#importFromCSV(String, String, ImportBuilder)}
+ *
+ * @author Seailz
+ */
+@Getter
+public class ImportBuilder {
+
+    private boolean header = false;
+    private List<String> columns;
+    private char delimiter = ',';
+    private boolean gzip = false;
+    private boolean parallel = false;
+    private int blockSize = 1_000;
+    private int bufferSize = 1 << 20;
+    private int commitInterval = 10_000;
+    private LongConsumer progress;
+    private Consumer<ImportError> errorHandler;
+
+    /**
+     * @param header Whether the first line holds the column names. If it does, they're used as the columns to insert into.
+     */
+    public ImportBuilder header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * @param columns The columns each record's fields go into, in order. By default, the header or the table's own column order is used.
+     */
+    public ImportBuilder columns(String... columns) {
+        this.columns = Arrays.asList(columns);
+        return this;
+    }
+
+    /**
+     * @param delimiter The character between fields
+     */
+    public ImportBuilder delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * @param gzip Whether the file is compressed with gzip
+     */
+    public ImportBuilder gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    /**
+     * @param parallel Whether blocks of records are parsed on the fork/join pool while earlier ones are inserted
+     */
+    public ImportBuilder parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * @param blockSize How many records are parsed together in parallel mode
+     */
+    public ImportBuilder blockSize(int blockSize) {
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * @param bufferSize The size of the read buffer, in bytes
+     */
+    public ImportBuilder bufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * @param commitInterval How many rows are inserted between commits. Rows committed before a failure stay in the table.
+     */
+    public ImportBuilder commitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    /**
+     * @param progress Called with the total amount of rows imported so far, after every commit
+     */
+    public ImportBuilder progress(LongConsumer progress) {
+        this.progress = progress;
+        return this;
+    }
+
+    /**
+     * Skip records that can't be parsed or inserted, and hand them to a handler instead of failing the import
+     *
+     * @param errorHandler Called with every record that was skipped
+     */
+    public ImportBuilder errorHandler(Consumer<ImportError> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+}
@@ -3,15 +3,33 @@ package com.seailz.databaseapi.annotation.builder;
 import lombok.Getter;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Getter
 public class InsertBuilder {
 
     private String table;
-    private HashMap<String, String> values = new HashMap<>();
+    /**
+     * The values as they were given, so numbers, booleans and byte arrays are bound with their own JDBC types
+     */
+    private final LinkedHashMap<String, Object> typedValues = new LinkedHashMap<>();
 
     public InsertBuilder value(String column, String value) {
-        values.put(column, value);
+        typedValues.put(column, value);
+        return this;
+    }
+
+    /**
+     * Set a column to a typed value, such as an {@link Integer}, {@link Long}, {@link Double},
+     * {@link Boolean}, {@link java.math.BigDecimal} or {@code byte[]}
+     *
+     * @param column The column you'd like to set
+     * @param value  The value you'd like to set it to
+     * @return this builder
+     */
+    public InsertBuilder value(String column, Object value) {
+        typedValues.put(column, value);
         return this;
     }
 
@@ -20,5 +38,15 @@ public class InsertBuilder {
         return this;
     }
 
-}
+    /**
+     * @return the values as text, the way they were stored before typed values were supported
+     */
+    public HashMap<String, String> getValues() {
+        HashMap<String, String> values = new HashMap<>();
+        for (Map.Entry<String, Object> entry : typedValues.entrySet()) {
+            values.put(entry.getKey(), entry.getValue() == null ? null : entry.getValue().toString());
+        }
+        return values;
+    }
 
+}
@@ -0,0 +1,110 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures the connection pool used by a {@link com.seailz.databaseapi.Database}
+ *
+ * @author Seailz
+ */
+@Getter
+public class PoolBuilder {
+
+    private int minSize = 1;
+    private int maxSize = 10;
+    private long idleTimeout = TimeUnit.MINUTES.toMillis(10);
+    private long maxLifetime = TimeUnit.MINUTES.toMillis(30);
+    private long borrowTimeout = TimeUnit.SECONDS.toMillis(30);
+    private long evictionInterval = TimeUnit.SECONDS.toMillis(30);
+    private int validationTimeout = 5;
+    private boolean validateOnBorrow = true;
+    private int statementCacheSize = 64;
+    private long leakDetectionThreshold = 0;
+
+    /**
+     * @param minSize The amount of connections the pool keeps open, even when idle
+     */
+    public PoolBuilder minSize(int minSize) {
+        this.minSize = minSize;
+        return this;
+    }
+
+    /**
+     * @param maxSize The maximum amount of connections the pool will open
+     */
+    public PoolBuilder maxSize(int maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * @param idleTimeout How long, in milliseconds, a connection above {@code minSize} may stay idle before it is closed
+     */
+    public PoolBuilder idleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * @param maxLifetime How long, in milliseconds, a connection may live before it is retired. {@code 0} disables this.
+     */
+    public PoolBuilder maxLifetime(long maxLifetime) {
+        this.maxLifetime = maxLifetime;
+        return this;
+    }
+
+    /**
+     * @param borrowTimeout How long, in milliseconds, to wait for a free connection before failing
+     */
+    public PoolBuilder borrowTimeout(long borrowTimeout) {
+        this.borrowTimeout = borrowTimeout;
+        return this;
+    }
+
+    /**
+     * @param evictionInterval How often, in milliseconds, idle and expired connections are cleaned up
+     */
+    public PoolBuilder evictionInterval(long evictionInterval) {
+        this.evictionInterval = evictionInterval;
+        return this;
+    }
+
+    /**
+     * @param validationTimeout How long, in seconds, the driver may take to validate a connection
+     */
+    public PoolBuilder validationTimeout(int validationTimeout) {
+        this.validationTimeout = validationTimeout;
+        return this;
+    }
+
+    /**
+     * @param validateOnBorrow Whether connections should be checked with {@link java.sql.Connection#isValid(int)} before being handed out
+     */
+    public PoolBuilder validateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+        return this;
+    }
+
+    /**
+     * @param statementCacheSize How many prepared statements each connection keeps cached. {@code 0} disables the cache.
+     */
+    public PoolBuilder statementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Turn on leak detection. Connections borrowed for longer than the threshold are logged with the stack trace
+     * of where they were borrowed, and statements still open when their connection is returned are logged
+     * with the stack trace of where they were created.
+     *
+     * @param leakDetectionThreshold How long, in milliseconds, a connection may be borrowed before it's reported. {@code 0} disables leak detection.
+     */
+    public PoolBuilder leakDetectionThreshold(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        return this;
+    }
+
+}
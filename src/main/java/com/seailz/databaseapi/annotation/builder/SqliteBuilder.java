@@ -0,0 +1,115 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import lombok.Getter;
+
+/**
+ * Configures how a {@link com.seailz.databaseapi.Database} opens SQLite files
+ * <p></p>
+ * <p>The settings are applied as {@code PRAGMA}s to every connection when it's opened. Start from a preset:</p>
+ * <ul>
+ *     <li>{@link #durable()}, the default, syncs every commit to disk, so a power loss never loses a committed write.</li>
+ *     <li>{@link #balanced()} only syncs at checkpoints. A power loss may lose the last few commits,
+ *     but the file is never corrupted.</li>
+ *     <li>{@link #bulkLoad()} never syncs, for loading data that can be loaded again if the machine crashes.</li>
+ * </ul>
+ * <p>Every preset uses the {@code WAL} journal mode, which is stored in the file itself and stays on after the</p>
+ * <p>file is closed. Set {@link #journalMode(String)} to {@code DELETE} for files that older tools must open.</p>
+ *
+ * @author Seailz
+ */
+@Getter
+public class SqliteBuilder {
+
+    private String journalMode = "WAL";
+    private String synchronous = "NORMAL";
+    private long mmapSize = 256L << 20;
+    private int cacheSize = 64 << 10;
+    private String tempStore = "MEMORY";
+    private int busyTimeout = 5_000;
+    private boolean singleWriter = true;
+
+    /**
+     * @return settings that sync every commit to disk
+     */
+    public static SqliteBuilder durable() {
+        return new SqliteBuilder().synchronous("FULL");
+    }
+
+    /**
+     * @return settings that keep the file safe, but may lose the last commits on a power loss
+     */
+    public static SqliteBuilder balanced() {
+        return new SqliteBuilder();
+    }
+
+    /**
+     * @return settings that never wait for the disk, with a larger cache
+     */
+    public static SqliteBuilder bulkLoad() {
+        return new SqliteBuilder()
+                .synchronous("OFF")
+                .cacheSize(256 << 10)
+                .busyTimeout(30_000);
+    }
+
+    /**
+     * @param journalMode The journal mode, such as {@code WAL} or {@code DELETE}. Only {@code WAL} lets readers run while something writes.
+     */
+    public SqliteBuilder journalMode(String journalMode) {
+        this.journalMode = journalMode;
+        return this;
+    }
+
+    /**
+     * @param synchronous When SQLite waits for the disk: {@code FULL}, {@code NORMAL} or {@code OFF}
+     */
+    public SqliteBuilder synchronous(String synchronous) {
+        this.synchronous = synchronous;
+        return this;
+    }
+
+    /**
+     * @param mmapSize How much of the file, in bytes, is read through memory mapping. {@code 0} disables it.
+     */
+    public SqliteBuilder mmapSize(long mmapSize) {
+        this.mmapSize = mmapSize;
+        return this;
+    }
+
+    /**
+     * @param cacheSize The size of each connection's page cache, in KiB
+     */
+    public SqliteBuilder cacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * @param tempStore Where temporary tables and indexes are kept: {@code DEFAULT}, {@code FILE} or {@code MEMORY}
+     */
+    public SqliteBuilder tempStore(String tempStore) {
+        this.tempStore = tempStore;
+        return this;
+    }
+
+    /**
+     * @param busyTimeout How long, in milliseconds, to wait for a lock held by another connection before failing
+     */
+    public SqliteBuilder busyTimeout(int busyTimeout) {
+        this.busyTimeout = busyTimeout;
+        return this;
+    }
+
+    /**
+     * SQLite only runs one write at a time. With a single writer, writes and transactions share one dedicated
+     * connection and wait for it in turn, while reads use the rest of the pool. Otherwise writers race for
+     * the file's lock, and retry until {@link #getBusyTimeout()}.
+     *
+     * @param singleWriter Whether writes go through one dedicated connection
+     */
+    public SqliteBuilder singleWriter(boolean singleWriter) {
+        this.singleWriter = singleWriter;
+        return this;
+    }
+
+}
@@ -2,9 +2,12 @@ package com.seailz.databaseapi.annotation.builder;
 
 import com.seailz.databaseapi.Column;
 import com.seailz.databaseapi.ColumnType;
+import com.seailz.databaseapi.Index;
 import lombok.Data;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -17,6 +20,10 @@ public class TableBuilder {
     private final String name;
     private final List<Column> columns;
     private String primaryKey;
+    /**
+     * Secondary indexes, created together with the table
+     */
+    private final List<Index> indexes = new ArrayList<>();
 
     public void addColumn(@NotNull ColumnType type, @NotNull String name) {
         columns.add(new Column(type, name));
@@ -26,4 +33,31 @@ public class TableBuilder {
         columns.add(column);
         return this;
     }
+
+    public @NotNull TableBuilder addIndex(@NotNull Index index) {
+        indexes.add(index);
+        return this;
+    }
+
+    /**
+     * Add an index on one or more columns
+     *
+     * @param columns The key columns, in order
+     * @return this builder
+     */
+    public @NotNull TableBuilder addIndex(@NotNull String... columns) {
+        return addIndex(new Index(Arrays.asList(columns)));
+    }
+
+    /**
+     * Add an index that doesn't allow two rows with the same values in its columns
+     *
+     * @param columns The key columns, in order
+     * @return this builder
+     */
+    public @NotNull TableBuilder addUniqueIndex(@NotNull String... columns) {
+        Index index = new Index(Arrays.asList(columns));
+        index.setUnique(true);
+        return addIndex(index);
+    }
 }
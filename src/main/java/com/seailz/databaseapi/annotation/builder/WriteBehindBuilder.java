@@ -0,0 +1,51 @@
+package com.seailz.databaseapi.annotation.builder;
+
+import lombok.Getter;
+
+/**
+ * Configures the buffer behind {@link com.seailz.databaseapi.Database#writeBehind()}
+ *
+ * @author Seailz
+ */
+@Getter
+public class WriteBehindBuilder {
+
+    private int maxPending = 10_000;
+    private int flushSize = 1_000;
+    private long flushInterval = 100;
+    private boolean blockWhenFull = true;
+
+    /**
+     * @param maxPending The most rows the buffer holds before writers are held back. Coalesced writes don't count twice.
+     */
+    public WriteBehindBuilder maxPending(int maxPending) {
+        this.maxPending = maxPending;
+        return this;
+    }
+
+    /**
+     * @param flushSize How many pending rows start a flush straight away, without waiting for the interval
+     */
+    public WriteBehindBuilder flushSize(int flushSize) {
+        this.flushSize = flushSize;
+        return this;
+    }
+
+    /**
+     * @param flushInterval The longest a write waits in the buffer, in milliseconds
+     */
+    public WriteBehindBuilder flushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * @param blockWhenFull Whether writing to a full buffer blocks the caller until a flush makes room.
+     *                      If false, the write fails with a {@link java.util.concurrent.RejectedExecutionException} instead.
+     */
+    public WriteBehindBuilder blockWhenFull(boolean blockWhenFull) {
+        this.blockWhenFull = blockWhenFull;
+        return this;
+    }
+
+}
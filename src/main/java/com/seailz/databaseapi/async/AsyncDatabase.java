@@ -0,0 +1,307 @@
+package com.seailz.databaseapi.async;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.annotation.builder.AsyncBuilder;
+import com.seailz.databaseapi.annotation.builder.InsertBuilder;
+import com.seailz.databaseapi.annotation.builder.general.WhereBuilder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link Database} operations off the calling thread, returning {@link CompletableFuture}s.
+ * <p></p>
+ * <p>Get one with {@link Database#async()}:</p>
+ * <pre>
+ *     db.async().get("players", "name", "Seailz", Player.class)
+ *             .thenAccept(player -> ...);
+ * </pre>
+ * <p>At most {@code threads + queueSize} tasks are accepted at once. Past that, the returned future fails with a</p>
+ * <p>{@link RejectedExecutionException} straight away, so the calling thread never waits. Turn on</p>
+ * <p>{@link AsyncBuilder#blockWhenFull(boolean)} to make submitting wait for room instead.</p>
+ *
+ * @author Seailz
+ */
+public class AsyncDatabase implements AutoCloseable {
+
+    @Getter
+    private final Database database;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final boolean blockWhenFull;
+
+    /**
+     * Create an async facade
+     *
+     * @param database The database to run operations on
+     * @param settings The settings of the executor
+     */
+    public AsyncDatabase(@NotNull Database database, @NotNull AsyncBuilder settings) {
+        this.database = database;
+        this.blockWhenFull = settings.isBlockWhenFull();
+
+        int threads = settings.getThreads() > 0 ? settings.getThreads() : database.getPoolSettings().getMaxSize();
+        this.permits = new Semaphore(threads + settings.getQueueSize());
+
+        ExecutorService virtual = settings.isVirtualThreads() ? virtualThreadExecutor() : null;
+        this.executor = virtual != null ? virtual : platformThreadExecutor(threads);
+    }
+
+    /**
+     * Run any work on the executor
+     *
+     * @param task The work you'd like to run
+     * @param <T>  The type of the result
+     * @return a future completed with the task's result, or completed exceptionally if it threw
+     */
+    public <T> CompletableFuture<T> submit(@NotNull Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            if (blockWhenFull) {
+                permits.acquire();
+            } else if (!permits.tryAcquire()) {
+                future.completeExceptionally(new RejectedExecutionException("Database task queue is full"));
+                return future;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Run work on the executor only if there's room for it right now. This never blocks,
+     * whatever {@link AsyncBuilder#blockWhenFull(boolean)} is set to.
+     *
+     * @param task The work you'd like to run
+     * @return whether the task was accepted
+     */
+    public boolean tryExecute(@NotNull Runnable task) {
+        if (!permits.tryAcquire())
+            return false;
+
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return false;
+        }
+    }
+
+    /**
+     * @see Database#get(String, String, String, String)
+     */
+    public CompletableFuture<Object> get(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column) {
+        return submit(() -> database.get(table, key, value, column));
+    }
+
+    /**
+     * @see Database#get(String, String, String, Class)
+     */
+    public <T> CompletableFuture<T> get(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull Class<T> clazz) {
+        return submit(() -> clazz.cast(database.get(table, key, value, clazz)));
+    }
+
+    /**
+     * @see Database#getMany(String, String, Collection, Class)
+     */
+    public <T> CompletableFuture<Map<String, T>> getMany(@NotNull String table, @NotNull String key, @NotNull Collection<String> values, @NotNull Class<T> clazz) {
+        return submit(() -> database.getMany(table, key, values, clazz));
+    }
+
+    /**
+     * @see Database#getList(String, String, String, String)
+     */
+    public CompletableFuture<Optional<List<Object>>> getList(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull String column) {
+        return submit(() -> database.getList(table, key, value, column));
+    }
+
+    /**
+     * @see Database#getList(String, String)
+     */
+    public CompletableFuture<Optional<List<Object>>> getList(@NotNull String table, @NotNull String column) {
+        return submit(() -> database.getList(table, column));
+    }
+
+    /**
+     * @see Database#getList(String, String, String, Class)
+     */
+    public CompletableFuture<Optional<List<?>>> getList(@NotNull String key, @NotNull String value, @NotNull String table, @NotNull Class<?> clazz) {
+        return submit(() -> database.getList(key, value, table, clazz));
+    }
+
+    /**
+     * @see Database#getList(String, Class)
+     */
+    public CompletableFuture<Optional<List<?>>> getList(@NotNull String table, @NotNull Class<?> clazz) {
+        return submit(() -> database.getList(table, clazz));
+    }
+
+    /**
+     * @see Database#insert(String, HashMap)
+     */
+    public CompletableFuture<Void> insert(@NotNull String table, @NotNull HashMap<String, String> values) {
+        return submit(() -> {
+            database.insert(table, values);
+            return null;
+        });
+    }
+
+    /**
+     * @see Database#insert(InsertBuilder)
+     */
+    public CompletableFuture<Void> insert(@NotNull InsertBuilder builder) {
+        return submit(() -> {
+            database.insert(builder);
+            return null;
+        });
+    }
+
+    /**
+     * @see Database#insert(String, Object)
+     */
+    public CompletableFuture<Void> insert(@NotNull String table, @NotNull Object object) {
+        return submit(() -> {
+            database.insert(table, object);
+            return null;
+        });
+    }
+
+    /**
+     * @see Database#insertBatch(String, List)
+     */
+    public CompletableFuture<Void> insertBatch(@NotNull String table, @NotNull List<? extends Map<String, String>> rows) {
+        return submit(() -> {
+            database.insertBatch(table, rows);
+            return null;
+        });
+    }
+
+    /**
+     * Unlike {@link Database#insertList(String, List)}, a failure completes the future exceptionally.
+     *
+     * @see Database#insertAll(String, List)
+     */
+    public CompletableFuture<Void> insertList(@NotNull String table, @NotNull List<?> objects) {
+        return submit(() -> {
+            database.insertAll(table, objects);
+            return null;
+        });
+    }
+
+    /**
+     * @see Database#upsert(String, Map, String...)
+     */
+    public CompletableFuture<Void> upsert(@NotNull String table, @NotNull Map<String, String> values, @NotNull String... keys) {
+        return submit(() -> {
+            database.upsert(table, values, keys);
+            return null;
+        });
+    }
+
+    /**
+     * @see Database#update(String, WhereBuilder, String, String)
+     */
+    public CompletableFuture<Void> update(@NotNull String table, @NotNull WhereBuilder whereBuilder, @NotNull String column, @NotNull String newColumn) {
+        return submit(() -> {
+            database.update(table, whereBuilder, column, newColumn);
+            return null;
+        });
+    }
+
+    /**
+     * @see Database#delete(String, String, String)
+     */
+    public CompletableFuture<Void> delete(@NotNull String table, @NotNull String key, @NotNull String value) {
+        return submit(() -> {
+            database.delete(table, key, value);
+            return null;
+        });
+    }
+
+    /**
+     * Stop accepting tasks, and wait up to the given time for the ones already submitted to finish
+     *
+     * @param timeout How long to wait
+     * @param unit    The unit of the timeout
+     * @return whether every task finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Stop accepting tasks, waiting up to 30 seconds for the ones already submitted to finish
+     */
+    @Override
+    public void close() {
+        try {
+            shutdown(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService platformThreadExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        // The semaphore bounds the amount of tasks, so the queue itself doesn't need to be
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Database-Async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return a virtual-thread-per-task executor, or null if this JDK doesn't have virtual threads
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
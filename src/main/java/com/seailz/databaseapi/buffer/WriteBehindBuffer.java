@@ -0,0 +1,578 @@
+package com.seailz.databaseapi.buffer;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.annotation.builder.InsertBuilder;
+import com.seailz.databaseapi.annotation.builder.WriteBehindBuilder;
+import com.seailz.databaseapi.mapping.EntityMetadata;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Buffers writes and sends them to the {@link Database} in batches, from a background thread.
+ * <p></p>
+ * <p>Get one with {@link Database#writeBehind()}:</p>
+ * <pre>
+ *     db.writeBehind().update("stats", "name", "Seailz", Collections.singletonMap("kills", 12));
+ * </pre>
+ * <p>Writes are flushed once {@link WriteBehindBuilder#flushSize(int)} rows are pending, or after</p>
+ * <p>{@link WriteBehindBuilder#flushInterval(long)}, whichever comes first. Each flush is one transaction,</p>
+ * <p>so many small writes share a single commit.</p>
+ * <p></p>
+ * <p>Updates of a row that's still pending, and upserts of a row with an upsert pending, are merged into the pending</p>
+ * <p>write, so a row that changes many times between flushes is only written once, with its latest values.</p>
+ * <p>A write is only merged if nothing that could touch the same row has been queued for its table since,</p>
+ * <p>such as an insert, or a write keyed by other columns.</p>
+ * <p></p>
+ * <p>Writes to a table are flushed in the order they were queued, so the results are the same as writing</p>
+ * <p>directly. Consecutive writes of the same kind to a table share a batch.</p>
+ * <p>If a flush fails, it's retried one write at a time, and only the writes the database rejects are lost.</p>
+ * <p></p>
+ * <p>Reads go straight to the database, so they don't see writes that haven't been flushed yet.</p>
+ * <p>Use {@link #flush()} to wait for them.</p>
+ *
+ * @author Seailz
+ */
+public class WriteBehindBuffer implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger("Database");
+
+    @Getter
+    private final Database database;
+    private final WriteBehindBuilder settings;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushNeeded = lock.newCondition();
+    private Flush pending = new Flush();
+    private CompletableFuture<Void> nextFlush = new CompletableFuture<>();
+    private int inFlight;
+    private boolean flushRequested;
+    private boolean closed;
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Thread flusher;
+
+    /**
+     * Create a write-behind buffer and start its flush thread
+     *
+     * @param database The database to write to
+     * @param settings The settings of the buffer
+     */
+    public WriteBehindBuffer(@NotNull Database database, @NotNull WriteBehindBuilder settings) {
+        this.database = database;
+        this.settings = settings;
+
+        this.flusher = new Thread(this::run, "Database-WriteBehind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queue a row to be inserted
+     *
+     * @param table  The table you'd like to insert to
+     * @param values A map of columns to values
+     * @throws RejectedExecutionException if the buffer is full and doesn't block
+     * @throws IllegalStateException      if the buffer is closed
+     */
+    public void insert(@NotNull String table, @NotNull Map<String, ?> values) {
+        enqueue(new PendingWrite(Kind.INSERT, table, new String[0], new LinkedHashMap<>(values)), null);
+    }
+
+    /**
+     * Queue a row to be inserted
+     *
+     * @param builder The builder you'd like to use
+     * @see #insert(String, Map)
+     */
+    public void insert(@NotNull InsertBuilder builder) {
+        insert(builder.getTable(), builder.getTypedValues());
+    }
+
+    /**
+     * Queue a {@code Java Object} to be inserted
+     *
+     * @param table  The table you'd like to insert to
+     * @param object The object you'd like to insert
+     * @see #insert(String, Map)
+     */
+    public void insert(@NotNull String table, @NotNull Object object) {
+        insert(table, EntityMetadata.of(object.getClass()).row(object));
+    }
+
+    /**
+     * Queue a row to be inserted, or updated if it already exists.
+     * If an upsert of the same row is already pending, the values are merged into it.
+     *
+     * @param table  The table you'd like to write to
+     * @param values A map of columns to values, which must hold every key column
+     * @param keys   The columns of the primary key or unique index that identifies the row
+     * @throws RejectedExecutionException if the buffer is full and doesn't block
+     * @throws IllegalStateException      if the buffer is closed
+     * @see Database#upsert(String, Map, String...)
+     */
+    public void upsert(@NotNull String table, @NotNull Map<String, ?> values, @NotNull String... keys) {
+        Map<String, String> identity = new TreeMap<>();
+        for (String key : keys) {
+            identity.put(key, String.valueOf(values.get(key)));
+        }
+        enqueue(new PendingWrite(Kind.UPSERT, table, keys, new LinkedHashMap<>(values)), keys.length == 0 ? null : Arrays.asList(table, identity));
+    }
+
+    /**
+     * Queue a {@code Java Object} to be inserted, or updated if it already exists
+     *
+     * @param table  The table you'd like to write to
+     * @param object The object you'd like to save
+     * @param keys   The columns of the primary key or unique index that identifies the row
+     * @see #upsert(String, Map, String...)
+     */
+    public void upsert(@NotNull String table, @NotNull Object object, @NotNull String... keys) {
+        upsert(table, EntityMetadata.of(object.getClass()).row(object), keys);
+    }
+
+    /**
+     * Queue an update of some columns of a row.
+     * If the same row is already pending, the values are merged into it.
+     *
+     * @param table  The table you'd like to update
+     * @param key    The column that identifies the row
+     * @param value  The value of that column
+     * @param values A map of the columns you'd like to set to their new values
+     * @throws RejectedExecutionException if the buffer is full and doesn't block
+     * @throws IllegalStateException      if the buffer is closed
+     */
+    public void update(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull Map<String, ?> values) {
+        LinkedHashMap<String, Object> row = new LinkedHashMap<>(values);
+        row.put(key, value);
+
+        Map<String, String> identity = new TreeMap<>();
+        identity.put(key, value);
+        enqueue(new PendingWrite(Kind.UPDATE, table, new String[]{key}, row), Arrays.asList(table, identity));
+    }
+
+    /**
+     * Flush everything that's been written so far, without waiting for the size or time trigger
+     *
+     * @return a future completed once those writes are committed, or completed exceptionally if the flush failed
+     */
+    public CompletableFuture<Void> flush() {
+        lock.lock();
+        try {
+            if (closed && pending.isEmpty() && inFlight == 0)
+                return CompletableFuture.completedFuture(null);
+
+            flushRequested = true;
+            flushNeeded.signal();
+            return nextFlush;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the amount of rows waiting to be written, including a flush that's running
+     */
+    public int getPending() {
+        lock.lock();
+        try {
+            return pending.size() + inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the amount of writes that were merged into a pending write of the same row
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the amount of rows that have been written to the database
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * @return the amount of rows that were lost because the database rejected them
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Stop accepting writes, flush everything that's pending and wait for it to be written
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            flushNeeded.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(PendingWrite write, @Nullable Object identity) {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed)
+                    throw new IllegalStateException("The write-behind buffer is closed");
+
+                if (pending.merge(write, identity)) {
+                    coalesced.increment();
+                    return;
+                }
+
+                if (pending.size() + inFlight < settings.getMaxPending())
+                    break;
+                if (!settings.isBlockWhenFull())
+                    throw new RejectedExecutionException("The write-behind buffer is full");
+
+                // Flush straight away instead of waiting out the interval
+                flushRequested = true;
+                flushNeeded.signal();
+                try {
+                    notFull.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for room in the write-behind buffer", e);
+                }
+            }
+
+            pending.add(write, identity);
+            if (pending.size() >= settings.getFlushSize())
+                flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<PendingWrite> writes;
+            CompletableFuture<Void> done;
+
+            lock.lock();
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(settings.getFlushInterval());
+                while (!closed && !flushRequested && pending.size() < settings.getFlushSize() && remaining > 0) {
+                    remaining = flushNeeded.awaitNanos(remaining);
+                }
+
+                if (closed && pending.isEmpty()) {
+                    nextFlush.complete(null);
+                    return;
+                }
+
+                writes = pending.writes;
+                done = nextFlush;
+                inFlight = pending.size();
+                pending = new Flush();
+                nextFlush = new CompletableFuture<>();
+                flushRequested = false;
+            } catch (InterruptedException e) {
+                // Only close() should stop the flusher, and it never interrupts
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                flush(writes, done);
+            } finally {
+                lock.lock();
+                try {
+                    inFlight = 0;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes one flush. If the flush fails as a whole, its writes are retried one at a time,
+     * so one bad row doesn't lose the writes it was flushed with.
+     */
+    private void flush(List<PendingWrite> writes, CompletableFuture<Void> done) {
+        try {
+            write(writes);
+            written.add(writes.size());
+            done.complete(null);
+            return;
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Flushing " + writes.size() + " buffered writes failed, retrying them one at a time", e);
+        }
+
+        List<Exception> rejected = new ArrayList<>();
+        try {
+            retry(writes, rejected);
+            written.add(writes.size() - rejected.size());
+        } catch (SQLException | RuntimeException e) {
+            // The retry couldn't run at all, so nothing was saved
+            failed.add(writes.size());
+            LOGGER.log(Level.SEVERE, "Failed to flush " + writes.size() + " buffered writes, they were not saved", e);
+            done.completeExceptionally(e);
+            return;
+        }
+
+        if (rejected.isEmpty()) {
+            done.complete(null);
+            return;
+        }
+
+        failed.add(rejected.size());
+        SQLException error = new SQLException(rejected.size() + " of " + writes.size() + " buffered writes were rejected and not saved", rejected.get(0));
+        for (int i = 1; i < rejected.size(); i++) {
+            error.addSuppressed(rejected.get(i));
+        }
+        LOGGER.log(Level.SEVERE, error.getMessage(), error);
+        done.completeExceptionally(error);
+    }
+
+    /**
+     * Writes one flush in a single transaction, with one batch per run of writes of the same kind to a table
+     */
+    private void write(List<PendingWrite> writes) throws SQLException {
+        if (writes.isEmpty()) return;
+
+        List<Run> runs = runs(writes);
+        database.startTransaction();
+        try {
+            for (Run run : runs) {
+                run.write(database);
+            }
+            database.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                database.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes one flush in a single transaction, one write at a time. A write the database rejects
+     * is rolled back to a savepoint and skipped, the rest are committed.
+     *
+     * @param rejected Collects the errors of the writes that were skipped
+     */
+    private void retry(List<PendingWrite> writes, List<Exception> rejected) throws SQLException {
+        database.startTransaction();
+        try (Connection connection = database.getConnection()) {
+            for (PendingWrite write : writes) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    new Run(write).write(database);
+                    connection.releaseSavepoint(savepoint);
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback(savepoint);
+                    rejected.add(e);
+                }
+            }
+            database.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                database.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Groups writes into batches without changing the order of the writes to any one table.
+     * Writes to different tables don't depend on each other, so they may move past each other.
+     */
+    private static List<Run> runs(List<PendingWrite> writes) {
+        List<Run> runs = new ArrayList<>();
+        Map<String, Run> lastRun = new HashMap<>();
+        for (PendingWrite write : writes) {
+            Run run = lastRun.get(write.table);
+            if (run != null && run.accepts(write)) {
+                run.rows.add(write.values);
+                continue;
+            }
+
+            run = new Run(write);
+            runs.add(run);
+            lastRun.put(write.table, run);
+        }
+        return runs;
+    }
+
+    private enum Kind {
+        INSERT,
+        UPSERT,
+        UPDATE
+    }
+
+    /**
+     * Consecutive writes of the same kind to one table, written as one batch
+     */
+    private static final class Run {
+
+        private final Kind kind;
+        private final String table;
+        private final String[] keys;
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+
+        private Run(PendingWrite first) {
+            this.kind = first.kind;
+            this.table = first.table;
+            this.keys = first.keys;
+            rows.add(first.values);
+        }
+
+        boolean accepts(PendingWrite write) {
+            return write.kind == kind && write.table.equals(table) && Arrays.equals(write.keys, keys);
+        }
+
+        void write(Database database) throws SQLException {
+            switch (kind) {
+                case INSERT:
+                    database.insertBatch(table, rows);
+                    break;
+                case UPSERT:
+                    database.upsertBatch(table, rows, keys);
+                    break;
+                case UPDATE:
+                    database.updateBatch(table, keys[0], rows);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * The writes waiting for the next flush, in the order they were queued
+     */
+    private static final class Flush {
+
+        private final List<PendingWrite> writes = new ArrayList<>();
+        /**
+         * The latest pending write of each row, by its identity
+         */
+        private final Map<Object, PendingWrite> latest = new HashMap<>();
+        /**
+         * Per table, the position of the last write that isn't keyed, and of the last write keyed by each set of columns
+         */
+        private final Map<String, Integer> lastUnkeyed = new HashMap<>();
+        private final Map<String, Map<List<String>, Integer>> lastKeyed = new HashMap<>();
+
+        int size() {
+            return writes.size();
+        }
+
+        boolean isEmpty() {
+            return writes.isEmpty();
+        }
+
+        /**
+         * Merge a write into the pending write of the same row, if nothing queued since could touch that row
+         *
+         * @return whether the write was merged
+         */
+        boolean merge(PendingWrite write, @Nullable Object identity) {
+            PendingWrite existing = identity == null ? null : latest.get(identity);
+            if (existing == null || !existing.accepts(write))
+                return false;
+
+            if (lastUnkeyed.getOrDefault(write.table, -1) > existing.position)
+                return false;
+            List<String> keys = Arrays.asList(existing.keys);
+            for (Map.Entry<List<String>, Integer> other : lastKeyed.getOrDefault(write.table, Collections.emptyMap()).entrySet()) {
+                // A write keyed by other columns may be to the same row
+                if (!other.getKey().equals(keys) && other.getValue() > existing.position)
+                    return false;
+            }
+
+            existing.merge(write);
+            return true;
+        }
+
+        void add(PendingWrite write, @Nullable Object identity) {
+            write.position = writes.size();
+            writes.add(write);
+            if (identity != null) {
+                latest.put(identity, write);
+                lastKeyed.computeIfAbsent(write.table, table -> new HashMap<>()).put(Arrays.asList(write.keys), write.position);
+            } else {
+                lastUnkeyed.put(write.table, write.position);
+            }
+        }
+    }
+
+    private static final class PendingWrite {
+
+        private int position;
+        private final Kind kind;
+        private final String table;
+        private final String[] keys;
+        private final LinkedHashMap<String, Object> values;
+
+        private PendingWrite(Kind kind, String table, String[] keys, LinkedHashMap<String, Object> values) {
+            this.kind = kind;
+            this.table = table;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        /**
+         * Whether merging a newer write of the same row into this one writes the same as running both in order.
+         * An update can always be merged, since it only changes the columns it sets. An upsert can only be merged
+         * into another upsert: after an update, which does nothing if the row is missing, the upsert would
+         * insert the update's columns too.
+         */
+        boolean accepts(PendingWrite newer) {
+            return newer.kind == Kind.UPDATE || kind == Kind.UPSERT;
+        }
+
+        /**
+         * Takes the newer write's values
+         */
+        void merge(PendingWrite newer) {
+            values.putAll(newer.values);
+        }
+    }
+}
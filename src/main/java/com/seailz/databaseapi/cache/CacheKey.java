@@ -0,0 +1,16 @@
+package com.seailz.databaseapi.cache;
+
+import lombok.Data;
+
+/**
+ * Identifies an object read with {@link com.seailz.databaseapi.Database#get(String, String, String, Class)}
+ *
+ * @author Seailz
+ */
+@Data
+public class CacheKey {
+    private final String table;
+    private final String key;
+    private final String value;
+    private final Class<?> type;
+}
@@ -0,0 +1,90 @@
+package com.seailz.databaseapi.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache in front of {@link com.seailz.databaseapi.Database#get(String, String, String, Class)}.
+ * <p></p>
+ * <p>Set one with {@link com.seailz.databaseapi.Database#setCache(EntityCache)}. The database invalidates</p>
+ * <p>a table's entries whenever it writes to that table. Implementations must be thread-safe.</p>
+ * <p></p>
+ * <p>A read can race with a write: the row is read, the table is written and invalidated, and only then</p>
+ * <p>is the old row put. To stop that, the database takes the table's {@link #getGeneration(String)} before</p>
+ * <p>it reads, and puts with {@link #put(CacheKey, Object, long)}, which drops the object if the table</p>
+ * <p>has been invalidated since.</p>
+ *
+ * @author Seailz
+ * @see LruEntityCache
+ */
+public interface EntityCache {
+
+    /**
+     * Look up a cached object
+     *
+     * @param key The key of the object
+     * @return the cached object, or null if it isn't cached
+     */
+    @Nullable
+    Object get(@NotNull CacheKey key);
+
+    /**
+     * Cache an object
+     *
+     * @param key    The key of the object
+     * @param object The object to cache
+     */
+    void put(@NotNull CacheKey key, @NotNull Object object);
+
+    /**
+     * Cache an object, unless its table has been invalidated since the generation was taken.
+     * The check and the put must be atomic with {@link #invalidate(String)} and {@link #clear()}.
+     * <p></p>
+     * <p>The default ignores the generation, which is only right for caches that never return a generation that changes.</p>
+     *
+     * @param key        The key of the object
+     * @param object     The object to cache
+     * @param generation The table's {@link #getGeneration(String)}, taken before the object was read
+     */
+    default void put(@NotNull CacheKey key, @NotNull Object object, long generation) {
+        put(key, object);
+    }
+
+    /**
+     * @param table The table
+     * @return a number that changes every time the table is invalidated, or the cache cleared
+     */
+    default long getGeneration(@NotNull String table) {
+        return 0;
+    }
+
+    /**
+     * Remove every cached object read from a table
+     *
+     * @param table The table that changed
+     */
+    void invalidate(@NotNull String table);
+
+    /**
+     * Remove every cached object
+     */
+    void clear();
+
+    /**
+     * @return how many lookups found a cached object
+     */
+    long getHits();
+
+    /**
+     * @return how many lookups didn't find a cached object
+     */
+    long getMisses();
+
+    /**
+     * @return the fraction of lookups that found a cached object, between 0 and 1
+     */
+    default double getHitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0 : (double) getHits() / total;
+    }
+}
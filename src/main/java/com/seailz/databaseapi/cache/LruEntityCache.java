@@ -0,0 +1,160 @@
+package com.seailz.databaseapi.cache;
+
+import com.seailz.databaseapi.annotation.builder.CacheBuilder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The default {@link EntityCache}. It holds a bounded amount of objects, evicting the least recently used first,
+ * and expires objects after a time-to-live that can be set per table.
+ * <p></p>
+ * <p>Keys are also indexed by table, so invalidating a table only touches that table's objects.</p>
+ *
+ * @author Seailz
+ */
+public class LruEntityCache implements EntityCache {
+
+    @Getter
+    private final CacheBuilder settings;
+    private final LinkedHashMap<CacheKey, Entry> entries;
+    private final HashMap<String, Set<CacheKey>> tables = new HashMap<>();
+    /**
+     * How many times each table was invalidated. With {@link #clears}, this is the table's generation.
+     */
+    private final HashMap<String, Long> invalidations = new HashMap<>();
+    private long clears;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Create a cache with the default settings
+     */
+    public LruEntityCache() {
+        this(new CacheBuilder());
+    }
+
+    /**
+     * Create a cache
+     *
+     * @param settings The settings of the cache
+     */
+    public LruEntityCache(@NotNull CacheBuilder settings) {
+        this.settings = settings;
+        this.entries = new LinkedHashMap<CacheKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                if (size() <= settings.getMaxSize())
+                    return false;
+                evictions.incrementAndGet();
+                unindex(eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    public synchronized Object get(@NotNull CacheKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt != 0 && entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            unindex(key);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return entry.object;
+    }
+
+    @Override
+    public synchronized void put(@NotNull CacheKey key, @NotNull Object object) {
+        long ttl = settings.getTableTtls().getOrDefault(key.getTable(), settings.getTtl());
+        // Index first, the put may evict this key straight away if the maximum size is 0
+        tables.computeIfAbsent(key.getTable(), table -> new HashSet<>()).add(key);
+        entries.put(key, new Entry(object, ttl > 0 ? System.currentTimeMillis() + ttl : 0));
+    }
+
+    @Override
+    public synchronized void put(@NotNull CacheKey key, @NotNull Object object, long generation) {
+        if (getGeneration(key.getTable()) == generation)
+            put(key, object);
+    }
+
+    @Override
+    public synchronized long getGeneration(@NotNull String table) {
+        return clears + invalidations.getOrDefault(table, 0L);
+    }
+
+    @Override
+    public synchronized void invalidate(@NotNull String table) {
+        invalidations.merge(table, 1L, Long::sum);
+        Set<CacheKey> keys = tables.remove(table);
+        if (keys == null) return;
+        for (CacheKey key : keys) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        clears++;
+        entries.clear();
+        tables.clear();
+    }
+
+    /**
+     * @return the amount of objects currently cached
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return how many objects were removed to stay under the maximum size
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void unindex(CacheKey key) {
+        Set<CacheKey> keys = tables.get(key.getTable());
+        if (keys != null && keys.remove(key) && keys.isEmpty())
+            tables.remove(key.getTable());
+    }
+
+    private static final class Entry {
+
+        private final Object object;
+        private final long expiresAt;
+
+        private Entry(Object object, long expiresAt) {
+            this.object = object;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
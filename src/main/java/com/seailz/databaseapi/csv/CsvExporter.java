@@ -0,0 +1,215 @@
+package com.seailz.databaseapi.csv;
+
+import com.seailz.databaseapi.annotation.builder.ExportBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a {@link ResultSet} to a CSV file.
+ * <p></p>
+ * <p>Fields are quoted as described by RFC 4180: a field holding the delimiter, a quote or a line break</p>
+ * <p>is wrapped in quotes, and its quotes are doubled. {@code NULL} is written as an empty field,</p>
+ * <p>and an empty string as {@code ""}.</p>
+ * <p>The column count is read once, and output goes through one large buffer.</p>
+ * <p></p>
+ * <p>In parallel mode the reading thread only copies values out of the result set. Blocks of rows are turned</p>
+ * <p>into text on the fork/join pool, and written in their original order.</p>
+ *
+ * @author Seailz
+ */
+public final class CsvExporter {
+
+    private final ExportBuilder settings;
+
+    /**
+     * @param settings How the file is written
+     */
+    public CsvExporter(@NotNull ExportBuilder settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Write every remaining row of a result set to a file, replacing the file if it exists
+     *
+     * @param resultSet The rows you'd like to export
+     * @param file      The file you'd like to write
+     * @return the amount of rows written
+     * @throws SQLException if a row could not be read
+     * @throws IOException  if the file could not be written
+     */
+    public long export(@NotNull ResultSet resultSet, @NotNull Path file) throws SQLException, IOException {
+        OutputStream out = Files.newOutputStream(file);
+        try {
+            if (settings.isGzip())
+                out = new GZIPOutputStream(out, settings.getBufferSize());
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), settings.getBufferSize())) {
+            return export(resultSet, writer);
+        }
+    }
+
+    /**
+     * Write every remaining row of a result set. The writer is flushed but not closed.
+     *
+     * @param resultSet The rows you'd like to export
+     * @param writer    Where the rows are written
+     * @return the amount of rows written
+     * @throws SQLException if a row could not be read
+     * @throws IOException  if the rows could not be written
+     */
+    public long export(@NotNull ResultSet resultSet, @NotNull Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columns = meta.getColumnCount();
+
+        if (settings.isHeader()) {
+            StringBuilder header = new StringBuilder();
+            String[] names = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                names[i] = meta.getColumnLabel(i + 1);
+            }
+            appendRow(header, names);
+            writer.write(header.toString());
+        }
+
+        long rows = settings.isParallel() ? exportParallel(resultSet, writer, columns) : exportSequential(resultSet, writer, columns);
+        writer.flush();
+        return rows;
+    }
+
+    private long exportSequential(ResultSet resultSet, Writer writer, int columns) throws SQLException, IOException {
+        StringBuilder line = new StringBuilder(256);
+        String[] values = new String[columns];
+        long rows = 0;
+        while (resultSet.next()) {
+            for (int i = 0; i < columns; i++) {
+                values[i] = resultSet.getString(i + 1);
+            }
+
+            line.setLength(0);
+            appendRow(line, values);
+            writer.append(line);
+            rows++;
+        }
+        return rows;
+    }
+
+    private long exportParallel(ResultSet resultSet, Writer writer, int columns) throws SQLException, IOException {
+        int blockSize = Math.max(1, settings.getBlockSize());
+        // Enough blocks in flight to keep every worker busy, without buffering the whole table
+        int maxInFlight = ForkJoinPool.getCommonPoolParallelism() * 2;
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>();
+
+        long rows = 0;
+        String[][] block = new String[blockSize][];
+        int size = 0;
+        try {
+            while (resultSet.next()) {
+                String[] values = new String[columns];
+                for (int i = 0; i < columns; i++) {
+                    values[i] = resultSet.getString(i + 1);
+                }
+                block[size++] = values;
+                rows++;
+
+                if (size == blockSize) {
+                    inFlight.add(format(block, size));
+                    block = new String[blockSize][];
+                    size = 0;
+                    while (inFlight.size() > maxInFlight) {
+                        writer.write(inFlight.poll().join());
+                    }
+                }
+            }
+            if (size > 0)
+                inFlight.add(format(block, size));
+
+            while (!inFlight.isEmpty()) {
+                writer.write(inFlight.poll().join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        } finally {
+            inFlight.forEach(future -> future.cancel(false));
+        }
+        return rows;
+    }
+
+    private CompletableFuture<String> format(String[][] block, int size) {
+        return CompletableFuture.supplyAsync(() -> {
+            StringBuilder text = new StringBuilder(size * 64);
+            for (int i = 0; i < size; i++) {
+                appendRow(text, block[i]);
+            }
+            return text.toString();
+        });
+    }
+
+    private void appendRow(StringBuilder line, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i != 0)
+                line.append(settings.getDelimiter());
+            appendField(line, values[i], settings.getDelimiter());
+        }
+        line.append(settings.getLineSeparator());
+    }
+
+    /**
+     * Append a field, quoting it if it holds the delimiter, a quote or a line break
+     *
+     * @param line      Where the field is appended
+     * @param value     The field's value, or null for an empty field
+     * @param delimiter The character between fields
+     */
+    public static void appendField(@NotNull StringBuilder line, @Nullable String value, char delimiter) {
+        if (value == null) return;
+        if (value.isEmpty()) {
+            // Quoted, so it's read back as an empty string rather than NULL
+            line.append("\"\"");
+            return;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"')
+                line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
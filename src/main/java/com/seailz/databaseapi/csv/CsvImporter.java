@@ -0,0 +1,347 @@
+package com.seailz.databaseapi.csv;
+
+import com.seailz.databaseapi.annotation.builder.ImportBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a CSV file into a table, through the connection instead of the database server's file system.
+ * <p></p>
+ * <p>The file is streamed through one large buffer, so it never has to fit in memory. Records are inserted</p>
+ * <p>with one prepared statement, sent in batches, and committed every {@link ImportBuilder#getCommitInterval()} rows.</p>
+ * <p>An empty field is inserted as {@code NULL}, and a quoted empty field as an empty string, the way {@link CsvExporter} writes them.</p>
+ * <p></p>
+ * <p>In parallel mode the reading thread only finds where records start and end. Blocks of records are split</p>
+ * <p>into fields on the fork/join pool, and inserted in their original order.</p>
+ * <p></p>
+ * <p>With an {@link ImportBuilder#errorHandler(java.util.function.Consumer)}, a record that can't be parsed is skipped,</p>
+ * <p>and if a batch fails, its rows are retried one at a time so only the rows that fail are skipped.</p>
+ *
+ * @author Seailz
+ */
+public final class CsvImporter {
+
+    private final ImportBuilder settings;
+    private final int batchSize;
+
+    /**
+     * @param settings  How the file is read
+     * @param batchSize How many rows are sent to the database at once
+     */
+    public CsvImporter(@NotNull ImportBuilder settings, int batchSize) {
+        this.settings = settings;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Import every record of a file
+     *
+     * @param file         The file you'd like to import
+     * @param connection   The connection the rows are inserted with
+     * @param table        The table you'd like to import into
+     * @param tableColumns The table's columns, used when neither the settings nor the file name them
+     * @param commit       Whether to commit every {@link ImportBuilder#getCommitInterval()} rows. If not, the caller owns the transaction.
+     * @return how many rows were imported and skipped
+     * @throws SQLException if a row could not be inserted, and there's no error handler
+     * @throws IOException  if the file could not be read, or a record could not be parsed and there's no error handler
+     */
+    public ImportResult importFile(@NotNull Path file, @NotNull Connection connection, @NotNull String table,
+                                   @Nullable List<String> tableColumns, boolean commit) throws SQLException, IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            if (settings.isGzip())
+                in = new GZIPInputStream(in, settings.getBufferSize());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader, settings.getBufferSize());
+
+            List<String> columns = settings.getColumns();
+            if (settings.isHeader()) {
+                String header = csv.readRecord();
+                if (columns == null && header != null)
+                    columns = Arrays.asList(CsvReader.parse(header, settings.getDelimiter()));
+            }
+            if (columns == null)
+                columns = tableColumns;
+            if (columns == null || columns.isEmpty())
+                throw new IllegalArgumentException("No columns to import into " + table);
+
+            boolean autoCommit = connection.getAutoCommit();
+            if (commit)
+                connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(insertStatement(table, columns))) {
+                return new Run(csv, connection, statement, columns.size(), commit).run();
+            } finally {
+                if (commit)
+                    connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private String insertStatement(String table, List<String> columns) {
+        return "insert into `" + table + "` (" + columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(","))
+                + ") values (" + columns.stream().map(column -> "?").collect(Collectors.joining(",")) + ")";
+    }
+
+    /**
+     * A record of the file, split into fields, or the reason it couldn't be
+     */
+    private static final class Record {
+        private final long line;
+        private final String raw;
+        private String[] fields;
+        private Exception error;
+
+        private Record(long line, String raw) {
+            this.line = line;
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * The state of one import
+     */
+    private final class Run {
+        private final CsvReader csv;
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int columns;
+        private final boolean commit;
+
+        /**
+         * The rows since the last commit, kept so they can be retried one at a time if a batch fails
+         */
+        private final List<Record> chunk = new ArrayList<>();
+        private Savepoint savepoint;
+        private int batched;
+        private long imported;
+        private long failed;
+
+        private Run(CsvReader csv, Connection connection, PreparedStatement statement, int columns, boolean commit) {
+            this.csv = csv;
+            this.connection = connection;
+            this.statement = statement;
+            this.columns = columns;
+            this.commit = commit;
+        }
+
+        private ImportResult run() throws SQLException, IOException {
+            try {
+                if (settings.isParallel())
+                    readParallel();
+                else
+                    readSequential();
+                finishChunk();
+            } catch (SQLException | IOException | RuntimeException e) {
+                abortChunk();
+                throw e;
+            }
+            return new ImportResult(imported, failed);
+        }
+
+        private void readSequential() throws SQLException, IOException {
+            Record record;
+            while ((record = next()) != null) {
+                parse(record);
+                insert(record);
+            }
+        }
+
+        private void readParallel() throws SQLException, IOException {
+            int blockSize = Math.max(1, settings.getBlockSize());
+            // Enough blocks in flight to keep every worker busy, without reading the whole file
+            int maxInFlight = ForkJoinPool.getCommonPoolParallelism() * 2;
+            Deque<CompletableFuture<Record[]>> inFlight = new ArrayDeque<>();
+
+            Record[] block = new Record[blockSize];
+            int size = 0;
+            try {
+                Record record;
+                while ((record = next()) != null) {
+                    block[size++] = record;
+                    if (size == blockSize) {
+                        inFlight.add(parseAsync(block));
+                        block = new Record[blockSize];
+                        size = 0;
+                        while (inFlight.size() > maxInFlight) {
+                            insertAll(inFlight.poll().join());
+                        }
+                    }
+                }
+                if (size > 0)
+                    inFlight.add(parseAsync(Arrays.copyOf(block, size)));
+
+                while (!inFlight.isEmpty()) {
+                    insertAll(inFlight.poll().join());
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw e;
+            } finally {
+                inFlight.forEach(future -> future.cancel(false));
+            }
+        }
+
+        private CompletableFuture<Record[]> parseAsync(Record[] block) {
+            return CompletableFuture.supplyAsync(() -> {
+                for (Record record : block) {
+                    parse(record);
+                }
+                return block;
+            });
+        }
+
+        /**
+         * @return the next record that isn't a blank line, or null at the end of the file
+         */
+        private Record next() throws IOException {
+            String raw;
+            while ((raw = csv.readRecord()) != null) {
+                if (!raw.isEmpty())
+                    return new Record(csv.getRecordLine(), raw);
+            }
+            return null;
+        }
+
+        private void parse(Record record) {
+            try {
+                String[] fields = CsvReader.parse(record.raw, settings.getDelimiter());
+                if (fields.length != columns)
+                    throw new IllegalArgumentException("Expected " + columns + " fields but found " + fields.length);
+                record.fields = fields;
+            } catch (IllegalArgumentException e) {
+                record.error = e;
+            }
+        }
+
+        private void insertAll(Record[] records) throws SQLException, IOException {
+            for (Record record : records) {
+                insert(record);
+            }
+        }
+
+        private void insert(Record record) throws SQLException, IOException {
+            if (record.error != null) {
+                if (settings.getErrorHandler() == null)
+                    throw new IOException("Could not parse line " + record.line + ": " + record.error.getMessage(), record.error);
+                skip(record, record.error);
+                return;
+            }
+
+            if (chunk.isEmpty() && !commit)
+                savepoint = connection.setSavepoint();
+
+            bind(record);
+            statement.addBatch();
+            chunk.add(record);
+            if (++batched >= batchSize)
+                executeBatch();
+            if (chunk.size() >= Math.max(1, settings.getCommitInterval()))
+                finishChunk();
+        }
+
+        private void bind(Record record) throws SQLException {
+            for (int i = 0; i < columns; i++) {
+                statement.setString(i + 1, record.fields[i]);
+            }
+        }
+
+        private void executeBatch() throws SQLException {
+            if (batched == 0) return;
+            batched = 0;
+            try {
+                statement.executeBatch();
+            } catch (SQLException e) {
+                if (settings.getErrorHandler() == null)
+                    throw e;
+                statement.clearBatch();
+                retryChunk();
+            }
+        }
+
+        /**
+         * Undo the rows since the last commit, and insert them again one at a time, skipping the ones that fail
+         */
+        private void retryChunk() throws SQLException {
+            rollbackChunk();
+            if (!commit)
+                savepoint = connection.setSavepoint();
+
+            List<Record> retry = new ArrayList<>(chunk);
+            chunk.clear();
+            for (Record record : retry) {
+                try {
+                    bind(record);
+                    statement.executeUpdate();
+                    chunk.add(record);
+                } catch (SQLException e) {
+                    skip(record, e);
+                }
+            }
+        }
+
+        private void finishChunk() throws SQLException {
+            executeBatch();
+            if (commit)
+                connection.commit();
+            else if (savepoint != null)
+                connection.releaseSavepoint(savepoint);
+
+            savepoint = null;
+            imported += chunk.size();
+            chunk.clear();
+            if (settings.getProgress() != null)
+                settings.getProgress().accept(imported);
+        }
+
+        private void abortChunk() {
+            try {
+                statement.clearBatch();
+                rollbackChunk();
+            } catch (SQLException ignored) {
+                // The original failure is more useful to the caller
+            }
+            chunk.clear();
+        }
+
+        private void rollbackChunk() throws SQLException {
+            if (commit)
+                connection.rollback();
+            else if (savepoint != null)
+                connection.rollback(savepoint);
+            savepoint = null;
+        }
+
+        private void skip(Record record, Exception error) {
+            failed++;
+            settings.getErrorHandler().accept(new ImportError(record.line, record.raw, error));
+        }
+    }
+}
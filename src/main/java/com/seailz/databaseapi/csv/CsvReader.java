@@ -0,0 +1,134 @@
+package com.seailz.databaseapi.csv;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a CSV file record by record, the way {@link CsvExporter} writes it.
+ * <p></p>
+ * <p>Splitting the input into records only has to track quotes, so it's cheap and done as the file is read.</p>
+ * <p>Turning a record into fields is done separately by {@link #parse(String, char)}, which can run on another thread.</p>
+ *
+ * @author Seailz
+ */
+public final class CsvReader {
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    /**
+     * @param reader     Where the file is read from. It should not be buffered again, this reader has its own buffer.
+     * @param bufferSize The size of the read buffer, in characters
+     */
+    public CsvReader(@NotNull Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[Math.max(1024, bufferSize)];
+    }
+
+    /**
+     * Read the next record, without its line separator. Line breaks inside quoted fields are kept.
+     *
+     * @return the raw record, or null at the end of the file
+     * @throws IOException if the file could not be read
+     */
+    @Nullable
+    public String readRecord() throws IOException {
+        StringBuilder record = new StringBuilder(128);
+        boolean quoted = false;
+        boolean any = false;
+        recordLine = line;
+
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return any ? record.toString() : null;
+                }
+            }
+
+            char c = buffer[position++];
+            any = true;
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n') {
+                line++;
+                if (!quoted) {
+                    int end = record.length();
+                    if (end > 0 && record.charAt(end - 1) == '\r')
+                        record.setLength(end - 1);
+                    return record.toString();
+                }
+            }
+            record.append(c);
+        }
+    }
+
+    /**
+     * @return the line the last record read started on, counting from 1
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Split a record into fields. An empty field is read as null, and a quoted empty field as an empty string.
+     *
+     * @param record    The raw record
+     * @param delimiter The character between fields
+     * @return the fields of the record
+     * @throws IllegalArgumentException if the record has a quote that's never closed, or text after a closing quote
+     */
+    public static String[] parse(@NotNull String record, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int length = record.length();
+
+        while (true) {
+            field.setLength(0);
+            if (i < length && record.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length)
+                        throw new IllegalArgumentException("Quoted field is never closed");
+                    char c = record.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && record.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < length && record.charAt(i) != delimiter)
+                    throw new IllegalArgumentException("Unexpected text after a closing quote at column " + (i + 1));
+                fields.add(field.toString());
+            } else {
+                int start = i;
+                while (i < length && record.charAt(i) != delimiter) {
+                    i++;
+                }
+                fields.add(i == start ? null : record.substring(start, i));
+            }
+
+            if (i >= length)
+                return fields.toArray(new String[0]);
+            // Skip the delimiter
+            i++;
+        }
+    }
+}
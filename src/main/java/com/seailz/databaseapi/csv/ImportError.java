@@ -0,0 +1,25 @@
+package com.seailz.databaseapi.csv;
+
+import lombok.Data;
+
+/**
+ * A record that could not be imported
+ *
+ * @author Seailz
+ */
+@Data
+public class ImportError {
+
+    /**
+     * The line of the file the record starts on, counting from 1
+     */
+    private final long line;
+    /**
+     * The record as it was in the file
+     */
+    private final String record;
+    /**
+     * Why the record could not be parsed or inserted
+     */
+    private final Exception error;
+}
@@ -0,0 +1,21 @@
+package com.seailz.databaseapi.csv;
+
+import lombok.Data;
+
+/**
+ * What happened during an import
+ *
+ * @author Seailz
+ */
+@Data
+public class ImportResult {
+
+    /**
+     * The amount of rows that were inserted
+     */
+    private final long imported;
+    /**
+     * The amount of records that were skipped because they could not be parsed or inserted
+     */
+    private final long failed;
+}
@@ -0,0 +1,309 @@
+package com.seailz.databaseapi.mapping;
+
+import com.seailz.databaseapi.annotation.Column;
+import com.seailz.databaseapi.annotation.DontSave;
+import com.seailz.databaseapi.annotation.constructor.DatabaseConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the {@link com.seailz.databaseapi.Database} needs to know to read and write a class.
+ * <p></p>
+ * <p>A class is inspected once, the first time it's used, and the result is cached.</p>
+ * <p>Fields and the {@link DatabaseConstructor} are accessed through {@link MethodHandle}s,</p>
+ * <p>so reading and writing objects doesn't repeat any reflection lookups.</p>
+ * <p>Each field and parameter also gets the {@link ValueCodec} for its type, so values are bound and read</p>
+ * <p>with their own JDBC methods, and primitive fields are bound without being boxed.</p>
+ *
+ * @author Seailz
+ */
+public final class EntityMetadata {
+
+    private static final Map<Class<?>, EntityMetadata> CACHE = new ConcurrentHashMap<>();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    @Getter
+    private final Class<?> type;
+    private final List<FieldMapping> fields;
+    @Getter
+    private final List<String> columns;
+    @Nullable
+    private final MethodHandle constructor;
+    @Getter
+    private final List<String> constructorColumns;
+    /**
+     * The select list of the columns the {@link DatabaseConstructor} reads, such as {@code `name`, `xp`}
+     */
+    @Getter
+    private final String selectColumns;
+    private final ValueCodec[] constructorCodecs;
+    private final Object[] constructorDefaults;
+
+    private EntityMetadata(Class<?> type) {
+        this.type = type;
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<FieldMapping> fields = new ArrayList<>();
+        collectFields(lookup, type, fields);
+        if (type.getSuperclass() != null)
+            collectFields(lookup, type.getSuperclass(), fields);
+        this.fields = Collections.unmodifiableList(fields);
+        List<String> fieldColumns = new ArrayList<>(fields.size());
+        for (FieldMapping field : fields) {
+            fieldColumns.add(field.getColumn());
+        }
+        this.columns = Collections.unmodifiableList(fieldColumns);
+
+        Constructor<?> databaseConstructor = findConstructor(type);
+        List<String> columns = new ArrayList<>();
+        List<ValueCodec> codecs = new ArrayList<>();
+        List<Object> defaults = new ArrayList<>();
+        MethodHandle handle = null;
+        if (databaseConstructor != null) {
+            for (Parameter parameter : databaseConstructor.getParameters()) {
+                if (parameter.isAnnotationPresent(Column.class)) {
+                    columns.add(parameter.getAnnotation(Column.class).value());
+                    codecs.add(ValueCodec.of(parameter.getType()));
+                    defaults.add(defaultValue(parameter.getType()));
+                }
+            }
+
+            try {
+                databaseConstructor.setAccessible(true);
+                handle = lookup.unreflectConstructor(databaseConstructor)
+                        .asSpreader(Object[].class, databaseConstructor.getParameterCount())
+                        .asType(CONSTRUCTOR_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access the database constructor of " + type.getName(), e);
+            }
+        }
+        this.constructor = handle;
+        this.constructorColumns = Collections.unmodifiableList(columns);
+        // Without constructor columns there's nothing to project, and reading fails on the missing constructor anyway
+        this.selectColumns = columns.isEmpty() ? "*" : columns.stream().distinct().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+        this.constructorCodecs = codecs.toArray(new ValueCodec[0]);
+        this.constructorDefaults = defaults.toArray();
+    }
+
+    /**
+     * Get the metadata of a class, inspecting it if this is the first time it's been used
+     *
+     * @param type The class you'd like the metadata of
+     * @return the {@link EntityMetadata} of that class
+     */
+    public static EntityMetadata of(@NotNull Class<?> type) {
+        return CACHE.computeIfAbsent(type, EntityMetadata::new);
+    }
+
+    /**
+     * Read the saved fields of an object as column values, in the same way they're written to a table
+     *
+     * @param object The object you'd like to read
+     * @return A map of column names to the field's {@link Object#toString()}, or null if the field is null
+     */
+    public HashMap<String, String> values(@NotNull Object object) {
+        HashMap<String, String> values = new HashMap<>();
+        for (FieldMapping field : fields) {
+            Object value = field.get(object);
+            values.put(field.getColumn(), value == null ? null : value.toString());
+        }
+        return values;
+    }
+
+    /**
+     * Read the saved fields of an object as typed column values, in the order of {@link #getColumns()}
+     *
+     * @param object The object you'd like to read
+     * @return A map of column names to the field's value
+     */
+    public LinkedHashMap<String, Object> row(@NotNull Object object) {
+        LinkedHashMap<String, Object> row = new LinkedHashMap<>();
+        for (FieldMapping field : fields) {
+            row.put(field.getColumn(), field.get(object));
+        }
+        return row;
+    }
+
+    /**
+     * Bind the saved fields of an object to a statement, in the order of {@link #getColumns()}.
+     * Primitive fields are read and bound without boxing.
+     *
+     * @param statement The statement you'd like to bind to, whose first parameters are the columns
+     * @param object    The object you'd like to write
+     * @throws SQLException if a value could not be bound
+     */
+    public void bind(@NotNull PreparedStatement statement, @NotNull Object object) throws SQLException {
+        for (int i = 0; i < fields.size(); i++) {
+            fields.get(i).bind(statement, i + 1, object);
+        }
+    }
+
+    /**
+     * @param parameter The index of a {@link Column} parameter of the {@link DatabaseConstructor}
+     * @return the codec that reads that parameter's value
+     */
+    ValueCodec getConstructorCodec(int parameter) {
+        return constructorCodecs[parameter];
+    }
+
+    /**
+     * @param parameter The index of a {@link Column} parameter of the {@link DatabaseConstructor}
+     * @return the value passed when the column is missing or {@code NULL}: zero or false for primitives, otherwise null
+     */
+    @Nullable
+    Object getConstructorDefault(int parameter) {
+        return constructorDefaults[parameter];
+    }
+
+    /**
+     * Create a new instance through the class's {@link DatabaseConstructor}
+     *
+     * @param parameters The values of the constructor's {@link Column} parameters, in order
+     * @return the new instance
+     * @throws InvocationTargetException if the constructor threw an exception
+     * @throws IllegalStateException     if the class doesn't have a {@link DatabaseConstructor}
+     */
+    public Object newInstance(Object[] parameters) throws InvocationTargetException {
+        if (constructor == null)
+            throw new IllegalStateException(type.getName() + " does not have a constructor annotated with @DatabaseConstructor");
+
+        try {
+            return (Object) constructor.invokeExact(parameters);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
+    private static void collectFields(MethodHandles.Lookup lookup, Class<?> type, List<FieldMapping> fields) {
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+            if (field.isAnnotationPresent(DontSave.class)) continue;
+
+            // If there is an annotation, use the annotation's name instead of the field's name
+            String column = field.isAnnotationPresent(Column.class)
+                    ? field.getAnnotation(Column.class).value()
+                    : field.getName();
+
+            try {
+                field.setAccessible(true);
+                MethodHandle getter = lookup.unreflectGetter(field);
+                ValueCodec codec = ValueCodec.of(field.getType());
+                MethodHandle primitiveGetter = field.getType().isPrimitive() && codec != ValueCodec.OBJECT
+                        ? getter.asType(MethodType.methodType(field.getType(), Object.class))
+                        : null;
+                fields.add(new FieldMapping(column, field.getType(), codec, getter.asType(GETTER_TYPE), primitiveGetter));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access field " + field.getName() + " of " + type.getName(), e);
+            }
+        }
+    }
+
+    @Nullable
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0D;
+        if (type == float.class) return 0F;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        return 0;
+    }
+
+    @Nullable
+    private static Constructor<?> findConstructor(Class<?> type) {
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.isAnnotationPresent(DatabaseConstructor.class))
+                return constructor;
+        }
+        return null;
+    }
+
+    @Getter
+    private static final class FieldMapping {
+
+        private final String column;
+        private final Class<?> type;
+        private final ValueCodec codec;
+        private final MethodHandle getter;
+        @Nullable
+        private final MethodHandle primitiveGetter;
+
+        private FieldMapping(String column, Class<?> type, ValueCodec codec, MethodHandle getter, @Nullable MethodHandle primitiveGetter) {
+            this.column = column;
+            this.type = type;
+            this.codec = codec;
+            this.getter = getter;
+            this.primitiveGetter = primitiveGetter;
+        }
+
+        Object get(Object object) {
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Cannot read field for column " + column, throwable);
+            }
+        }
+
+        void bind(PreparedStatement statement, int index, Object object) throws SQLException {
+            if (primitiveGetter == null) {
+                codec.bind(statement, index, get(object));
+                return;
+            }
+
+            try {
+                switch (codec) {
+                    case INT:
+                        statement.setInt(index, (int) primitiveGetter.invokeExact(object));
+                        break;
+                    case LONG:
+                        statement.setLong(index, (long) primitiveGetter.invokeExact(object));
+                        break;
+                    case DOUBLE:
+                        statement.setDouble(index, (double) primitiveGetter.invokeExact(object));
+                        break;
+                    case FLOAT:
+                        statement.setFloat(index, (float) primitiveGetter.invokeExact(object));
+                        break;
+                    case BOOLEAN:
+                        statement.setBoolean(index, (boolean) primitiveGetter.invokeExact(object));
+                        break;
+                    case SHORT:
+                        statement.setShort(index, (short) primitiveGetter.invokeExact(object));
+                        break;
+                    case BYTE:
+                        statement.setByte(index, (byte) primitiveGetter.invokeExact(object));
+                        break;
+                    default:
+                        codec.bind(statement, index, get(object));
+                }
+            } catch (SQLException e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Cannot read field for column " + column, throwable);
+            }
+        }
+    }
+}
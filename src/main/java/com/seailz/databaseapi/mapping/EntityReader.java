@@ -0,0 +1,65 @@
+package com.seailz.databaseapi.mapping;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Maps the rows of one {@link ResultSet} into objects.
+ * <p></p>
+ * <p>Where each constructor parameter lives in the result set is resolved once, when the reader is created,</p>
+ * <p>so reading a row is only a matter of copying its values into the constructor.</p>
+ * <p>Each value is read with the {@link ValueCodec} of its parameter's type.</p>
+ *
+ * @author Seailz
+ */
+public final class EntityReader {
+
+    private final EntityMetadata metadata;
+    private final int[] indexes;
+
+    /**
+     * Create a reader for a result set
+     *
+     * @param metadata  The metadata of the class you'd like to read into
+     * @param resultSet The result set you'd like to read from
+     * @throws SQLException if the result set's metadata could not be read
+     */
+    public EntityReader(@NotNull EntityMetadata metadata, @NotNull ResultSet resultSet) throws SQLException {
+        this.metadata = metadata;
+
+        ResultSetMetaData meta = resultSet.getMetaData();
+        HashMap<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            columnIndexes.put(meta.getColumnName(i), i);
+        }
+
+        List<String> columns = metadata.getConstructorColumns();
+        this.indexes = new int[columns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = columnIndexes.getOrDefault(columns.get(i), 0);
+        }
+    }
+
+    /**
+     * Read the row the result set is currently on
+     *
+     * @param resultSet The result set this reader was created for
+     * @return a new object holding the row's values
+     * @throws SQLException              if a value could not be read
+     * @throws InvocationTargetException if the constructor threw an exception
+     */
+    public Object read(@NotNull ResultSet resultSet) throws SQLException, InvocationTargetException {
+        Object[] parameters = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            Object value = indexes[i] == 0 ? null : metadata.getConstructorCodec(i).read(resultSet, indexes[i]);
+            parameters[i] = value == null ? metadata.getConstructorDefault(i) : value;
+        }
+        return metadata.newInstance(parameters);
+    }
+}
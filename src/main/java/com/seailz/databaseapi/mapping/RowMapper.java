@@ -0,0 +1,24 @@
+package com.seailz.databaseapi.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} into an object
+ *
+ * @param <T> The type of the object
+ * @author Seailz
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Map the current row. Don't move the cursor or close the result set, it's closed for you.
+     *
+     * @param row       The result set, positioned on the row to map
+     * @param rowNumber The number of the row, starting at 0
+     * @return the object for this row
+     * @throws SQLException if a value could not be read
+     */
+    T map(ResultSet row, int rowNumber) throws SQLException;
+}
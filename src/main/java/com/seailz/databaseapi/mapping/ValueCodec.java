@@ -0,0 +1,261 @@
+package com.seailz.databaseapi.mapping;
+
+import com.seailz.databaseapi.ColumnType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Binds and reads values with the JDBC method for their type, such as {@link PreparedStatement#setInt(int, int)}
+ * and {@link ResultSet#getLong(int)}, instead of passing everything through text or {@link ResultSet#getObject(int)}.
+ * <p></p>
+ * <p>Numbers and booleans are sent to the database as they are, so it doesn't have to parse them back out of a string,</p>
+ * <p>and reads produce exactly the type a field or constructor parameter expects.</p>
+ *
+ * @author Seailz
+ */
+public enum ValueCodec {
+
+    STRING(Types.VARCHAR) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setString(index, value.toString());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getString(index);
+        }
+    },
+    INT(Types.INTEGER) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setInt(index, ((Number) value).intValue());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            int value = resultSet.getInt(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        }
+    },
+    LONG(Types.BIGINT) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setLong(index, ((Number) value).longValue());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            long value = resultSet.getLong(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        }
+    },
+    SHORT(Types.SMALLINT) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setShort(index, ((Number) value).shortValue());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            short value = resultSet.getShort(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        }
+    },
+    BYTE(Types.TINYINT) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setByte(index, ((Number) value).byteValue());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            byte value = resultSet.getByte(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        }
+    },
+    DOUBLE(Types.DOUBLE) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setDouble(index, ((Number) value).doubleValue());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            double value = resultSet.getDouble(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        }
+    },
+    FLOAT(Types.FLOAT) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setFloat(index, ((Number) value).floatValue());
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            float value = resultSet.getFloat(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        }
+    },
+    BOOLEAN(Types.BOOLEAN) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setBoolean(index, (Boolean) value);
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            boolean value = resultSet.getBoolean(index);
+            return !value && resultSet.wasNull() ? null : value;
+        }
+    },
+    DECIMAL(Types.DECIMAL) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setBigDecimal(index, (BigDecimal) value);
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getBigDecimal(index);
+        }
+    },
+    BYTES(Types.BLOB) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setBytes(index, (byte[]) value);
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getBytes(index);
+        }
+    },
+    /**
+     * Anything without a dedicated JDBC method, left to the driver
+     */
+    OBJECT(Types.OTHER) {
+        @Override
+        void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setObject(index, value);
+        }
+
+        @Override
+        public Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getObject(index);
+        }
+    };
+
+    private final int sqlType;
+
+    ValueCodec(int sqlType) {
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * Bind a value to a statement's parameter
+     *
+     * @param statement The statement you'd like to bind to
+     * @param index     The index of the parameter, starting at 1
+     * @param value     The value, which must be of this codec's type, or null
+     * @throws SQLException if the value could not be bound
+     */
+    public void bind(@NotNull PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+        if (value == null)
+            statement.setNull(index, sqlType);
+        else
+            bindNonNull(statement, index, value);
+    }
+
+    abstract void bindNonNull(PreparedStatement statement, int index, Object value) throws SQLException;
+
+    /**
+     * Read a column of the row a result set is on
+     *
+     * @param resultSet The result set you'd like to read from
+     * @param index     The index of the column, starting at 1
+     * @return the value, or null if the column was {@code NULL}
+     * @throws SQLException if the value could not be read
+     */
+    @Nullable
+    public abstract Object read(@NotNull ResultSet resultSet, int index) throws SQLException;
+
+    /**
+     * Bind a value with the codec for its runtime type.
+     * Strings, and types without a codec, are bound the same way they always have been.
+     *
+     * @param statement The statement you'd like to bind to
+     * @param index     The index of the parameter, starting at 1
+     * @param value     The value you'd like to bind
+     * @throws SQLException if the value could not be bound
+     */
+    public static void bindValue(@NotNull PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+        if (value == null || value instanceof String)
+            statement.setObject(index, value);
+        else
+            of(value.getClass()).bindNonNull(statement, index, value);
+    }
+
+    /**
+     * Get the codec for a Java type, such as the type of a field or a constructor parameter
+     *
+     * @param type The type you'd like to bind or read
+     * @return the codec for that type, or {@link #OBJECT} if there isn't a dedicated one
+     */
+    @NotNull
+    public static ValueCodec of(@NotNull Class<?> type) {
+        if (type == String.class) return STRING;
+        if (type == int.class || type == Integer.class) return INT;
+        if (type == long.class || type == Long.class) return LONG;
+        if (type == double.class || type == Double.class) return DOUBLE;
+        if (type == float.class || type == Float.class) return FLOAT;
+        if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+        if (type == short.class || type == Short.class) return SHORT;
+        if (type == byte.class || type == Byte.class) return BYTE;
+        if (type == BigDecimal.class) return DECIMAL;
+        if (type == byte[].class) return BYTES;
+        if (type.isEnum()) return STRING;
+        return OBJECT;
+    }
+
+    /**
+     * Get the codec that reads a {@link ColumnType}
+     *
+     * @param type The type of the column
+     * @return the codec for that column type
+     */
+    @NotNull
+    public static ValueCodec of(@NotNull ColumnType type) {
+        switch (type) {
+            case VARCHAR:
+                return STRING;
+            case INT:
+            case TINYINT:
+                return INT;
+            case BIGINT:
+            case LONG:
+                return LONG;
+            case DOUBLE:
+                return DOUBLE;
+            case FLOAT:
+                return FLOAT;
+            case BOOLEAN:
+                return BOOLEAN;
+            case BYTE:
+                return BYTE;
+            case DECIMAL:
+                return DECIMAL;
+            case BLOB:
+                return BYTES;
+            default:
+                return OBJECT;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seailz.databaseapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gets told about every operation a {@link com.seailz.databaseapi.Database} runs.
+ * <p></p>
+ * <p>Register one with {@link com.seailz.databaseapi.Database#addListener(DatabaseListener)}. Listeners are called</p>
+ * <p>on the thread that ran the operation, so they should be quick and thread-safe.</p>
+ *
+ * @author Seailz
+ * @see QueryMetrics
+ */
+@FunctionalInterface
+public interface DatabaseListener {
+
+    /**
+     * Called after an operation finished, whether it succeeded or not
+     *
+     * @param event The operation
+     */
+    void onQuery(@NotNull QueryEvent event);
+}
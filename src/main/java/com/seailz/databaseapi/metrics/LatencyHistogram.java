@@ -0,0 +1,120 @@
+package com.seailz.databaseapi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies.
+ * <p></p>
+ * <p>Values are counted in buckets that split every power of two into 8 steps,</p>
+ * <p>so percentiles are accurate to within about 12%, using a fixed 4KB of memory.</p>
+ *
+ * @author Seailz
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Record a latency
+     *
+     * @param nanos The latency, in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(index(value));
+        count.increment();
+        total.add(value);
+    }
+
+    /**
+     * @return the amount of recorded latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the mean latency, in nanoseconds
+     */
+    public double getMean() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : (double) total.sum() / recorded;
+    }
+
+    /**
+     * Get a percentile of the recorded latencies
+     *
+     * @param percentile The percentile, between 0 and 100, such as {@code 99.9}
+     * @return the latency at that percentile in nanoseconds, rounded up to its bucket
+     */
+    public long getPercentile(double percentile) {
+        long recorded = count.sum();
+        if (recorded == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target)
+                return upperBound(i);
+        }
+        return upperBound(buckets.length() - 1);
+    }
+
+    /**
+     * @return the median latency, in nanoseconds
+     */
+    public long getP50() {
+        return getPercentile(50);
+    }
+
+    /**
+     * @return the 99th percentile latency, in nanoseconds
+     */
+    public long getP99() {
+        return getPercentile(99);
+    }
+
+    /**
+     * @return the 99.9th percentile latency, in nanoseconds
+     */
+    public long getP999() {
+        return getPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.3fms p99=%.3fms p999=%.3fms",
+                getCount(), toMillis(getP50()), toMillis(getP99()), toMillis(getP999()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
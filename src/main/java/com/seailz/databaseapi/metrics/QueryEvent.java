@@ -0,0 +1,41 @@
+package com.seailz.databaseapi.metrics;
+
+import lombok.Data;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes one finished {@link com.seailz.databaseapi.Database} operation
+ *
+ * @author Seailz
+ */
+@Data
+public class QueryEvent {
+
+    /**
+     * The name of the operation, such as {@code get} or {@code insert}
+     */
+    private final String operation;
+    /**
+     * The table the operation used, or null if it didn't use one
+     */
+    @Nullable
+    private final String table;
+    private final long durationNanos;
+    /**
+     * Whether the operation wrote to the database
+     */
+    private final boolean write;
+    /**
+     * The amount of rows read or written
+     */
+    private final long rows;
+    /**
+     * The exception the operation failed with, or null if it succeeded
+     */
+    @Nullable
+    private final Throwable error;
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
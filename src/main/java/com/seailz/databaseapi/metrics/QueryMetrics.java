@@ -0,0 +1,147 @@
+package com.seailz.databaseapi.metrics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link DatabaseListener} that keeps counters and latency histograms, both per operation and per table,
+ * and remembers operations slower than a threshold.
+ * <pre>
+ *     QueryMetrics metrics = new QueryMetrics(TimeUnit.MILLISECONDS.toNanos(100));
+ *     db.addListener(metrics);
+ *     ...
+ *     metrics.getOperation("get").getLatency().getP99();
+ * </pre>
+ *
+ * @author Seailz
+ */
+public class QueryMetrics implements DatabaseListener {
+
+    private static final Logger LOGGER = Logger.getLogger("Database");
+    private static final int SLOW_QUERY_HISTORY = 100;
+
+    @Getter
+    private final long slowQueryThresholdNanos;
+    @Getter
+    private final Stats total = new Stats();
+    private final Map<String, Stats> operations = new ConcurrentHashMap<>();
+    private final Map<String, Stats> tables = new ConcurrentHashMap<>();
+    private final Deque<QueryEvent> slowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowQueryCount = new AtomicInteger();
+
+    /**
+     * Create metrics that log operations slower than one second
+     */
+    public QueryMetrics() {
+        this(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Create metrics
+     *
+     * @param slowQueryThresholdNanos Operations taking at least this long, in nanoseconds, are logged and remembered
+     */
+    public QueryMetrics(long slowQueryThresholdNanos) {
+        this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+    }
+
+    @Override
+    public void onQuery(@NotNull QueryEvent event) {
+        total.record(event);
+        operations.computeIfAbsent(event.getOperation(), operation -> new Stats()).record(event);
+        if (event.getTable() != null)
+            tables.computeIfAbsent(event.getTable(), table -> new Stats()).record(event);
+
+        if (event.getDurationNanos() >= slowQueryThresholdNanos) {
+            slowQueries.addLast(event);
+            if (slowQueryCount.incrementAndGet() > SLOW_QUERY_HISTORY) {
+                slowQueries.pollFirst();
+                slowQueryCount.decrementAndGet();
+            }
+
+            if (LOGGER.isLoggable(Level.WARNING))
+                LOGGER.warning("[Database] Slow " + event.getOperation() + " on " + event.getTable()
+                        + " took " + TimeUnit.NANOSECONDS.toMillis(event.getDurationNanos()) + "ms");
+        }
+    }
+
+    /**
+     * @param operation The name of the operation, such as {@code get}
+     * @return the stats of that operation, which are empty if it never ran
+     */
+    public Stats getOperation(@NotNull String operation) {
+        return operations.getOrDefault(operation, new Stats());
+    }
+
+    /**
+     * @param table The table
+     * @return the stats of every operation on that table, which are empty if it was never used
+     */
+    public Stats getTable(@NotNull String table) {
+        return tables.getOrDefault(table, new Stats());
+    }
+
+    /**
+     * @return the stats of every operation that ran, by operation name
+     */
+    public Map<String, Stats> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * @return the stats of every table that was used, by table name
+     */
+    public Map<String, Stats> getTables() {
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * @return the most recent operations that were slower than the threshold, oldest first
+     */
+    public List<QueryEvent> getSlowQueries() {
+        return new ArrayList<>(slowQueries);
+    }
+
+    /**
+     * Counters and latencies of a group of operations
+     */
+    @Getter
+    public static class Stats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder rowsWritten = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private void record(QueryEvent event) {
+            count.increment();
+            if (!event.isSuccess())
+                errors.increment();
+            if (event.isWrite())
+                rowsWritten.add(event.getRows());
+            else
+                rowsRead.add(event.getRows());
+            latency.record(event.getDurationNanos());
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count.sum() + " errors=" + errors.sum() + " rowsRead=" + rowsRead.sum()
+                    + " rowsWritten=" + rowsWritten.sum() + " latency[" + latency + "]";
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seailz.databaseapi.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Work that should be run with a borrowed {@link Connection}
+ *
+ * @param <T> The type of the result
+ * @author Seailz
+ */
+@FunctionalInterface
+public interface ConnectionCallback<T> {
+
+    /**
+     * Run the work
+     *
+     * @param connection The connection to use. Do not close it, it's returned to the pool for you.
+     * @return the result of the work
+     * @throws SQLException if there is an error communicating with the database
+     */
+    T apply(Connection connection) throws SQLException;
+}
@@ -0,0 +1,21 @@
+package com.seailz.databaseapi.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Opens new physical connections for a {@link ConnectionPool}
+ *
+ * @author Seailz
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    /**
+     * Open a new connection
+     *
+     * @return a new {@link Connection}
+     * @throws SQLException if the connection could not be opened
+     */
+    Connection create() throws SQLException;
+}
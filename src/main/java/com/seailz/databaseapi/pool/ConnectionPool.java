@@ -0,0 +1,397 @@
+package com.seailz.databaseapi.pool;
+
+import com.seailz.databaseapi.annotation.builder.PoolBuilder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small, thread-safe pool of JDBC connections.
+ * <p></p>
+ * <p>Connections are borrowed with {@link #borrow()} and returned by closing the handle you were given.</p>
+ * <p>Idle connections above the minimum size, and connections that outlived their max lifetime,</p>
+ * <p>are closed by a background eviction task.</p>
+ *
+ * @author Seailz
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    @Getter
+    private final PoolBuilder settings;
+    private final ConnectionFactory factory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong statementHits = new AtomicLong();
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final LeakDetector leakDetector;
+
+    private int total;
+    private boolean closed;
+
+    /**
+     * Create a new pool, opening the minimum amount of connections straight away
+     *
+     * @param settings The settings of the pool
+     * @param factory  Opens new physical connections
+     * @throws SQLException if the initial connections could not be opened
+     */
+    public ConnectionPool(@NotNull PoolBuilder settings, @NotNull ConnectionFactory factory) throws SQLException {
+        if (settings.getMaxSize() < 1 || settings.getMinSize() < 0 || settings.getMinSize() > settings.getMaxSize())
+            throw new IllegalArgumentException("Invalid pool size: min " + settings.getMinSize() + ", max " + settings.getMaxSize());
+
+        this.settings = settings;
+        this.factory = factory;
+        this.leakDetector = settings.getLeakDetectionThreshold() > 0 ? new LeakDetector(settings.getLeakDetectionThreshold()) : null;
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Database-Pool-Evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            fill();
+        } catch (SQLException | RuntimeException e) {
+            // Don't leak the connections that did open
+            close();
+            throw e;
+        }
+
+        evictor.scheduleWithFixedDelay(this::evict, settings.getEvictionInterval(), settings.getEvictionInterval(), TimeUnit.MILLISECONDS);
+        if (leakDetector != null) {
+            // Checking twice per threshold reports a leak at most half a threshold late
+            long interval = Math.max(1, settings.getLeakDetectionThreshold() / 2);
+            evictor.scheduleWithFixedDelay(leakDetector::check, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Borrow a connection from the pool, waiting up to the borrow timeout if none are free.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return a {@link Connection}
+     * @throws SQLException if no connection became available in time, or one could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getBorrowTimeout());
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (candidate == null && !create) {
+                    if (closed)
+                        throw new SQLException("Connection pool is closed");
+
+                    candidate = idle.pollFirst();
+                    if (candidate == null) {
+                        if (total < settings.getMaxSize()) {
+                            total++;
+                            create = true;
+                        } else {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0)
+                                throw new SQLException("Timed out after " + settings.getBorrowTimeout() + "ms waiting for a connection");
+                            available.awaitNanos(remaining);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (create)
+                return open().handle();
+
+            if (candidate.isExpired(settings.getMaxLifetime()) || !isUsable(candidate)) {
+                destroy(candidate);
+                continue;
+            }
+
+            candidate.touch();
+            return candidate.handle();
+        }
+    }
+
+    /**
+     * Run some work with a borrowed connection, returning it to the pool afterwards
+     *
+     * @param callback The work you'd like to run
+     * @param <T>      The type of the result
+     * @return the result of the callback
+     * @throws SQLException if there is an error communicating with the database
+     */
+    public <T> T withConnection(@NotNull ConnectionCallback<T> callback) throws SQLException {
+        try (Connection connection = borrow()) {
+            return callback.apply(connection);
+        }
+    }
+
+    /**
+     * @return the amount of open connections, both idle and in use
+     */
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the amount of open connections that are not in use
+     */
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return how many leaked connections and unclosed statements were reported, or 0 if leak detection is off
+     */
+    public long getLeaksDetected() {
+        return leakDetector == null ? 0 : leakDetector.getLeaks();
+    }
+
+    /**
+     * @return how many times a prepared statement was served from a connection's statement cache
+     */
+    public long getStatementCacheHits() {
+        return statementHits.get();
+    }
+
+    /**
+     * @return how many times a prepared statement had to be prepared because it wasn't cached
+     */
+    public long getStatementCacheMisses() {
+        return statementMisses.get();
+    }
+
+    /**
+     * Close the pool. Idle connections are closed immediately, connections in use are closed when they're returned.
+     */
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        evictor.shutdownNow();
+        toClose.forEach(PooledConnection::closeQuietly);
+        if (leakDetector != null) {
+            leakDetector.check();
+        }
+    }
+
+    /**
+     * Wrap a connection so closing it does nothing. Used to hand out a connection that is owned by someone else,
+     * such as a running transaction.
+     *
+     * @param connection The connection to wrap
+     * @return a {@link Connection} that ignores {@link Connection#close()}
+     */
+    public static Connection nonClosing(@NotNull Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) return null;
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
+    /**
+     * Wrap a result set so closing it also closes its statement and gives its connection back. Used to hand out
+     * results that are read lazily, after the method that ran the query has returned.
+     *
+     * @param resultSet  The result set to wrap
+     * @param connection The connection the result set was read from
+     * @return a {@link ResultSet} that closes its statement and connection with it
+     */
+    public static ResultSet closingConnection(@NotNull ResultSet resultSet, @NotNull Connection connection) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        if (!closed.compareAndSet(false, true)) return null;
+                        try (Connection ignored = connection;
+                             java.sql.Statement statement = resultSet.getStatement()) {
+                            resultSet.close();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
+    void release(PooledConnection connection) {
+        boolean reusable = !connection.isExpired(settings.getMaxLifetime());
+        if (reusable) {
+            try {
+                if (!connection.getConnection().getAutoCommit()) {
+                    connection.getConnection().rollback();
+                    connection.getConnection().setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+        }
+
+        lock.lock();
+        try {
+            if (reusable && !closed) {
+                connection.touch();
+                idle.addFirst(connection);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        destroy(connection);
+    }
+
+    private PooledConnection open() throws SQLException {
+        try {
+            return new PooledConnection(this, factory.create());
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection connection) {
+        if (!settings.isValidateOnBorrow()) return true;
+        try {
+            return connection.getConnection().isValid(settings.getValidationTimeout());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection connection) {
+        connection.closeQuietly();
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fill() throws SQLException {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || total >= settings.getMinSize()) return;
+                total++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledConnection connection = open();
+            lock.lock();
+            try {
+                idle.addLast(connection);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void evict() {
+        List<PooledConnection> toClose = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                PooledConnection connection = iterator.next();
+                boolean idleTooLong = total - toClose.size() > settings.getMinSize()
+                        && now - connection.getLastUsed() >= settings.getIdleTimeout();
+
+                if (idleTooLong || connection.isExpired(settings.getMaxLifetime())) {
+                    iterator.remove();
+                    toClose.add(connection);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        toClose.forEach(this::destroy);
+
+        try {
+            fill();
+        } catch (SQLException ignored) {
+            // The next borrow will surface the error
+        }
+    }
+}
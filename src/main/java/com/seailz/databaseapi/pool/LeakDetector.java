@@ -0,0 +1,109 @@
+package com.seailz.databaseapi.pool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports connections held for too long, and statements that were never closed, with the stack trace
+ * of where they were borrowed or created.
+ * <p></p>
+ * <p>Capturing a stack trace on every borrow and statement isn't free, so this only runs when</p>
+ * <p>{@link com.seailz.databaseapi.annotation.builder.PoolBuilder#leakDetectionThreshold(long)} is set.</p>
+ *
+ * @author Seailz
+ */
+final class LeakDetector {
+
+    private static final Logger LOGGER = Logger.getLogger("Database");
+
+    private final long threshold;
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final AtomicLong leaks = new AtomicLong();
+
+    LeakDetector(long threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Where a connection or statement came from
+     */
+    static final class Origin extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        Origin(String message) {
+            super(message);
+
+            // Start the trace at the caller, instead of inside the pool and its proxies
+            StackTraceElement[] trace = getStackTrace();
+            int start = 0;
+            while (start < trace.length - 1 && isInternal(trace[start].getClassName()))
+                start++;
+            setStackTrace(Arrays.copyOfRange(trace, start, trace.length));
+        }
+
+        private static boolean isInternal(String className) {
+            return className.startsWith(LeakDetector.class.getPackage().getName() + ".")
+                    || className.startsWith("jdk.proxy") || className.startsWith("com.sun.proxy");
+        }
+    }
+
+    /**
+     * A borrowed connection, from the moment it's handed out until it's returned
+     */
+    static final class Lease {
+        private final Origin origin = new Origin("Connection was borrowed here, by " + Thread.currentThread().getName());
+        private final long borrowedAt = System.currentTimeMillis();
+        private volatile boolean reported;
+    }
+
+    Lease borrowed() {
+        Lease lease = new Lease();
+        leases.add(lease);
+        return lease;
+    }
+
+    void returned(@NotNull Lease lease) {
+        leases.remove(lease);
+        if (lease.reported)
+            LOGGER.info("A connection reported as a possible leak was returned after " + (System.currentTimeMillis() - lease.borrowedAt) + "ms");
+    }
+
+    /**
+     * @return where a statement is being created, to report it if it's never closed
+     */
+    Origin created(@NotNull String what) {
+        return new Origin(what + " was created here, by " + Thread.currentThread().getName());
+    }
+
+    /**
+     * Report a statement that was still open when its connection was returned
+     */
+    void unclosed(@NotNull Origin origin) {
+        leaks.incrementAndGet();
+        LOGGER.log(Level.WARNING, "A statement was not closed before its connection was returned to the pool, closing it", origin);
+    }
+
+    /**
+     * Report every connection that has been held for longer than the threshold, once each
+     */
+    void check() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases) {
+            if (!lease.reported && now - lease.borrowedAt >= threshold) {
+                lease.reported = true;
+                leaks.incrementAndGet();
+                LOGGER.log(Level.WARNING, "A connection has been borrowed for " + (now - lease.borrowedAt) + "ms, it may have leaked", lease.origin);
+            }
+        }
+    }
+
+    long getLeaks() {
+        return leaks.get();
+    }
+}
@@ -0,0 +1,167 @@
+package com.seailz.databaseapi.pool;
+
+import lombok.Getter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A physical connection owned by a {@link ConnectionPool}
+ *
+ * @author Seailz
+ */
+@Getter
+class PooledConnection {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private final long createdAt = System.currentTimeMillis();
+    private volatile long lastUsed = createdAt;
+
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = pool.getSettings().getStatementCacheSize() > 0
+                ? new StatementCache(connection, pool.getSettings().getStatementCacheSize(), pool.getStatementHits(), pool.getStatementMisses())
+                : null;
+    }
+
+    /**
+     * Creates a handle for a single borrow. Closing the handle returns the connection to the pool
+     * instead of closing it, and any further use of that handle fails.
+     * <p></p>
+     * <p>{@link Connection#prepareStatement(String)} is served from the statement cache, and any other</p>
+     * <p>statement opened through the handle is closed when the handle is.</p>
+     * <p>With leak detection on, the handle remembers where it was borrowed and where each of its statements</p>
+     * <p>was created, and reports the statements still open when it's closed.</p>
+     *
+     * @return a {@link Connection} handle
+     */
+    Connection handle() {
+        return (Connection) Proxy.newProxyInstance(
+                UncachedPreparer.class.getClassLoader(),
+                new Class<?>[]{Connection.class, UncachedPreparer.class},
+                new Handle()
+        );
+    }
+
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    boolean isExpired(long maxLifetime) {
+        return maxLifetime > 0 && System.currentTimeMillis() - createdAt >= maxLifetime;
+    }
+
+    void closeQuietly() {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private class Handle implements InvocationHandler {
+
+        private final List<Statement> opened = new ArrayList<>();
+        private final LeakDetector leakDetector = pool.getLeakDetector();
+        private final LeakDetector.Lease lease = leakDetector == null ? null : leakDetector.borrowed();
+        /**
+         * Where each statement was created, only kept with leak detection on
+         */
+        private final Map<Statement, LeakDetector.Origin> origins = leakDetector == null ? null : new IdentityHashMap<>();
+        private boolean released;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        if (leakDetector != null) {
+                            reportUnclosed();
+                            leakDetector.returned(lease);
+                        }
+                        closeOpened();
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + connection;
+            }
+
+            if (released)
+                throw new SQLException("Connection has already been returned to the pool");
+
+            if (method.getDeclaringClass() == UncachedPreparer.class) {
+                PreparedStatement statement = connection.prepareStatement((String) args[0]);
+                track(statement, (String) args[0]);
+                return statement;
+            }
+
+            if (statementCache != null && method.getName().equals("prepareStatement") && args.length == 1) {
+                PreparedStatement cached = statementCache.prepare((String) args[0]);
+                if (cached != null) {
+                    if (origins != null)
+                        origins.put(cached, leakDetector.created("Statement \"" + args[0] + "\""));
+                    return cached;
+                }
+            }
+
+            try {
+                Object result = method.invoke(connection, args);
+                if (result instanceof Statement)
+                    track((Statement) result, args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void track(Statement statement, String sql) {
+            opened.add(statement);
+            if (origins != null)
+                origins.put(statement, leakDetector.created(sql != null ? "Statement \"" + sql + "\"" : "Statement"));
+        }
+
+        private void reportUnclosed() {
+            for (Map.Entry<Statement, LeakDetector.Origin> entry : origins.entrySet()) {
+                try {
+                    if (!entry.getKey().isClosed())
+                        leakDetector.unclosed(entry.getValue());
+                } catch (SQLException ignored) {
+                }
+            }
+            origins.clear();
+        }
+
+        private void closeOpened() {
+            for (Statement statement : opened) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                }
+            }
+            opened.clear();
+
+            if (statementCache != null)
+                statementCache.releaseAll();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.seailz.databaseapi.pool;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A least-recently-used cache of {@link PreparedStatement}s for one physical connection.
+ * <p></p>
+ * <p>Statements are keyed by their SQL with insignificant whitespace removed. Closing a cached statement</p>
+ * <p>only hands it back to the cache, it's really closed when it's evicted or the connection is closed.</p>
+ * <p>Settings such as {@link PreparedStatement#setMaxRows(int)} are put back to their defaults when a statement</p>
+ * <p>is handed back, so they never leak into the next borrow.</p>
+ *
+ * @author Seailz
+ */
+class StatementCache {
+
+    private final Connection connection;
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, Entry> statements;
+
+    StatementCache(Connection connection, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= StatementCache.this.capacity || eldest.getValue().inUse)
+                    return false;
+                eldest.getValue().closeQuietly();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get a prepared statement for some SQL, preparing it if it isn't cached yet
+     *
+     * @param sql The SQL of the statement
+     * @return a cached statement, or null if the cached statement for this SQL is already in use
+     * @throws SQLException if the statement could not be prepared
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        String key = normalize(sql);
+        Entry entry = statements.get(key);
+
+        if (entry != null && entry.broken) {
+            statements.remove(key);
+            entry.closeQuietly();
+            entry = null;
+        }
+
+        if (entry != null) {
+            if (entry.inUse) return null;
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            entry = new Entry(connection.prepareStatement(sql));
+            statements.put(key, entry);
+        }
+
+        entry.inUse = true;
+        return entry.proxy;
+    }
+
+    /**
+     * Hand every statement back to the cache, closing any results they left open
+     */
+    void releaseAll() {
+        for (Entry entry : statements.values()) {
+            if (entry.inUse)
+                entry.release();
+        }
+    }
+
+    /**
+     * Collapse whitespace outside of quotes, so statements that only differ in formatting share a cache entry
+     *
+     * @param sql The SQL to normalize
+     * @return the normalized SQL
+     */
+    static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean space = false;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+
+            if (space && normalized.length() > 0)
+                normalized.append(' ');
+            space = false;
+
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`'))
+                quote = c;
+            else if (quote == c)
+                quote = 0;
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * The setters that change how a statement runs, rather than what it runs with. Whoever borrows a statement
+     * next expects the defaults, so these are put back when it's released.
+     */
+    private static final Set<String> SETTINGS = new HashSet<>(Arrays.asList(
+            "setMaxRows", "setLargeMaxRows", "setFetchSize", "setQueryTimeout", "setFetchDirection",
+            "setEscapeProcessing", "setMaxFieldSize", "setPoolable"
+    ));
+
+    private static final class Entry {
+
+        private final PreparedStatement statement;
+        private final PreparedStatement proxy;
+        private final int maxRows;
+        private final int fetchSize;
+        private final int queryTimeout;
+        private final int fetchDirection;
+        private final int maxFieldSize;
+        private final boolean poolable;
+        private ResultSet results;
+        private boolean inUse;
+        /**
+         * Whether a setting was changed since the statement was borrowed
+         */
+        private boolean changed;
+        /**
+         * Whether the settings couldn't be put back, so the statement must not be handed out again
+         */
+        private boolean broken;
+
+        private Entry(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.maxRows = statement.getMaxRows();
+            this.fetchSize = statement.getFetchSize();
+            this.queryTimeout = statement.getQueryTimeout();
+            this.fetchDirection = statement.getFetchDirection();
+            this.maxFieldSize = statement.getMaxFieldSize();
+            this.poolable = statement.isPoolable();
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (inUse)
+                                    release();
+                                return null;
+                            case "isClosed":
+                                return !inUse || statement.isClosed();
+                            case "closeOnCompletion":
+                                return null;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                        }
+
+                        if (!inUse)
+                            throw new SQLException("Statement has already been closed");
+
+                        if (SETTINGS.contains(method.getName()))
+                            changed = true;
+                        else if (method.getName().equals("setCursorName"))
+                            // A cursor name can't be read back, so the statement can't be reset
+                            broken = true;
+
+                        try {
+                            Object result = method.invoke(statement, args);
+                            if (result instanceof ResultSet && method.getName().equals("executeQuery"))
+                                results = (ResultSet) result;
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+            );
+        }
+
+        private void release() {
+            inUse = false;
+            try {
+                if (results != null)
+                    results.close();
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException ignored) {
+            } finally {
+                results = null;
+            }
+
+            if (changed) {
+                changed = false;
+                try {
+                    statement.setMaxRows(maxRows);
+                    statement.setFetchSize(fetchSize);
+                    statement.setQueryTimeout(queryTimeout);
+                    statement.setFetchDirection(fetchDirection);
+                    statement.setMaxFieldSize(maxFieldSize);
+                    statement.setPoolable(poolable);
+                    // There's no getter for escape processing, and JDBC turns it on by default
+                    statement.setEscapeProcessing(true);
+                } catch (SQLException e) {
+                    broken = true;
+                }
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+}
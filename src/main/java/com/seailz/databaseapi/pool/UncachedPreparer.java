@@ -0,0 +1,41 @@
+package com.seailz.databaseapi.pool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Implemented by the connections a {@link ConnectionPool} hands out, to prepare a statement
+ * without going through the connection's statement cache
+ *
+ * @author Seailz
+ */
+public interface UncachedPreparer {
+
+    /**
+     * Prepare a statement that isn't cached. Use this for statements that are prepared once and
+     * used many times, such as batches, which gain nothing from the cache.
+     * The statement is still closed with the connection if it's left open.
+     *
+     * @param sql The SQL of the statement
+     * @return a new {@link PreparedStatement}
+     * @throws SQLException if the statement could not be prepared
+     */
+    PreparedStatement prepareUncached(@NotNull String sql) throws SQLException;
+
+    /**
+     * Prepare a statement, skipping the statement cache if the connection came from a {@link ConnectionPool}
+     *
+     * @param connection The connection to prepare on
+     * @param sql        The SQL of the statement
+     * @return a new {@link PreparedStatement}
+     * @throws SQLException if the statement could not be prepared
+     */
+    static PreparedStatement prepareUncached(@NotNull Connection connection, @NotNull String sql) throws SQLException {
+        if (connection instanceof UncachedPreparer)
+            return ((UncachedPreparer) connection).prepareUncached(sql);
+        return connection.prepareStatement(sql);
+    }
+}
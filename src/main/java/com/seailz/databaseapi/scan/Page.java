@@ -0,0 +1,48 @@
+package com.seailz.databaseapi.scan;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a table, read with {@link com.seailz.databaseapi.Database#page(String, Class, String, Object, int)}
+ *
+ * @param <T> The type of the objects on the page
+ * @author Seailz
+ */
+@Getter
+public class Page<T> {
+
+    private final List<T> items;
+    /**
+     * The key of the last object on the page. Pass it as {@code afterValue} to read the next page.
+     */
+    @Nullable
+    private final Object lastKey;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasMore;
+
+    public Page(@NotNull List<T> items, @Nullable Object lastKey, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.lastKey = lastKey;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * @return whether there are more rows after this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * @return the amount of objects on the page
+     */
+    public int size() {
+        return items.size();
+    }
+}
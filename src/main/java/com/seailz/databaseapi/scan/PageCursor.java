@@ -0,0 +1,89 @@
+package com.seailz.databaseapi.scan;
+
+import com.seailz.databaseapi.Database;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a table page by page, each page starting after the last key of the one before.
+ * <p></p>
+ * <p>No connection is held between pages, so a cursor can be kept around, or rebuilt later</p>
+ * <p>from {@link #getLastKey()} with {@link Database#pages(String, Class, String, Object, int)}.</p>
+ * <pre>
+ *     PageCursor&lt;Player&gt; cursor = db.pages("players", Player.class, "id", 500);
+ *     while (cursor.hasNext()) {
+ *         for (Player player : cursor.next().getItems()) ...
+ *     }
+ * </pre>
+ *
+ * @param <T> The type of the objects that are read
+ * @author Seailz
+ */
+public class PageCursor<T> {
+
+    private final Database database;
+    private final String table;
+    private final Class<T> type;
+    private final String key;
+    private final int limit;
+
+    /**
+     * The key of the last object read, or of the position the cursor started after
+     */
+    @Getter
+    @Nullable
+    private Object lastKey;
+    private boolean done;
+
+    /**
+     * @param database   The database to read from
+     * @param table      The table you'd like to read
+     * @param type       The class you'd like to read into
+     * @param key        The column the table is ordered by. It must be unique, or rows sharing a value across two pages are skipped.
+     *                   Rows whose key is {@code NULL} are never read.
+     * @param afterValue The key to start after, or null to start at the beginning
+     * @param limit      The most objects on a page
+     */
+    public PageCursor(@NotNull Database database, @NotNull String table, @NotNull Class<T> type, @NotNull String key, @Nullable Object afterValue, int limit) {
+        this.database = database;
+        this.table = table;
+        this.type = type;
+        this.key = key;
+        this.lastKey = afterValue;
+        this.limit = limit;
+    }
+
+    /**
+     * @return whether there's another page to read
+     */
+    public boolean hasNext() {
+        return !done;
+    }
+
+    /**
+     * Read the next page
+     *
+     * @return the page
+     * @throws SQLException           if there is an error communicating with the database
+     * @throws NoSuchElementException if the last page was already read
+     */
+    @NotNull
+    public Page<T> next() throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (done)
+            throw new NoSuchElementException("No more pages in " + table);
+
+        Page<T> page = database.page(table, type, key, lastKey, limit);
+        done = !page.hasMore();
+        if (page.getLastKey() != null)
+            lastKey = page.getLastKey();
+        else if (!done)
+            // Starting the next page from the same key would read this page again, forever
+            throw new IllegalStateException("The last key of a page in " + table + " was null, so the next page can't be found");
+        return page;
+    }
+}
@@ -0,0 +1,180 @@
+package com.seailz.databaseapi.scan;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.mapping.EntityMetadata;
+import com.seailz.databaseapi.mapping.EntityReader;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Reads a table as a series of key ranges, each with its own query on its own pooled connection.
+ * <p></p>
+ * <p>Splitting hands whole ranges to another thread, so a parallel stream built on this</p>
+ * <p>reads as many ranges at once as it has threads. A range's connection is borrowed when</p>
+ * <p>the range is first read, and given back as soon as its rows run out.</p>
+ *
+ * @param <T> The type of the objects that are read
+ * @author Seailz
+ */
+public final class PartitionedScan<T> implements Spliterator<T> {
+
+    private final Database database;
+    private final EntityMetadata metadata;
+    private final Class<T> type;
+    private final String table;
+    private final String key;
+    private final List<?> boundaries;
+    private final long rowsPerRange;
+    private final Set<Cursor> open;
+
+    private int from;
+    private final int to;
+    @Nullable
+    private Cursor cursor;
+
+    /**
+     * Create a scan over every range of a table
+     *
+     * @param database     The database to read from
+     * @param table        The table you'd like to read
+     * @param key          The column the table is split on
+     * @param boundaries   The sorted values of {@code key} where a new range starts. {@code n} boundaries make {@code n + 1} ranges.
+     * @param rowsPerRange Roughly how many rows a range holds
+     * @param type         The class you'd like to read into
+     */
+    public PartitionedScan(@NotNull Database database, @NotNull String table, @NotNull String key, @NotNull List<?> boundaries, long rowsPerRange, @NotNull Class<T> type) {
+        this(database, EntityMetadata.of(type), type, table, key, boundaries, rowsPerRange, ConcurrentHashMap.newKeySet(), 0, boundaries.size() + 1);
+    }
+
+    private PartitionedScan(Database database, EntityMetadata metadata, Class<T> type, String table, String key, List<?> boundaries, long rowsPerRange, Set<Cursor> open, int from, int to) {
+        this.database = database;
+        this.metadata = metadata;
+        this.type = type;
+        this.table = table;
+        this.key = key;
+        this.boundaries = boundaries;
+        this.rowsPerRange = rowsPerRange;
+        this.open = open;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    @SneakyThrows
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (true) {
+            if (cursor == null) {
+                if (from >= to)
+                    return false;
+                cursor = new Cursor(from);
+            }
+
+            if (cursor.resultSet.next()) {
+                action.accept(type.cast(cursor.reader.read(cursor.resultSet)));
+                return true;
+            }
+
+            // Give the connection back as soon as the range runs out
+            cursor.close();
+            cursor = null;
+            from++;
+        }
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+        // A range that's being read can't be split any further
+        if (cursor != null || to - from < 2)
+            return null;
+
+        int middle = (from + to) >>> 1;
+        PartitionedScan<T> prefix = new PartitionedScan<>(database, metadata, type, table, key, boundaries, rowsPerRange, open, from, middle);
+        from = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return rowsPerRange * (to - from);
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+
+    /**
+     * Close every range that's still being read. Used when the stream is closed before it's drained.
+     */
+    public void close() {
+        for (Cursor cursor : open) {
+            cursor.close();
+        }
+    }
+
+    private final class Cursor {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private final EntityReader reader;
+
+        private Cursor(int range) throws SQLException {
+            Object lower = range == 0 ? null : boundaries.get(range - 1);
+            Object upper = range == boundaries.size() ? null : boundaries.get(range);
+
+            StringBuilder sql = new StringBuilder("SELECT ").append(metadata.getSelectColumns()).append(" FROM `").append(table).append("`");
+            if (lower != null)
+                sql.append(" WHERE `").append(key).append("` >= ?");
+            if (upper != null && lower != null)
+                sql.append(" AND `").append(key).append("` < ?");
+            // NULL keys fall in no range, so the first one reads them too
+            else if (upper != null)
+                sql.append(" WHERE (`").append(key).append("` < ? OR `").append(key).append("` IS NULL)");
+
+            connection = database.getConnection();
+            try {
+                statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(database.getStreamingFetchSize());
+                int index = 1;
+                if (lower != null)
+                    statement.setObject(index++, lower);
+                if (upper != null)
+                    statement.setObject(index, upper);
+
+                resultSet = statement.executeQuery();
+                reader = new EntityReader(metadata, resultSet);
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+            open.add(this);
+        }
+
+        void close() {
+            if (!open.remove(this)) return;
+            try {
+                try {
+                    resultSet.close();
+                    statement.close();
+                } finally {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to close range of " + table, e);
+            }
+        }
+    }
+}
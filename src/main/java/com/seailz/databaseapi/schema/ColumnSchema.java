@@ -0,0 +1,27 @@
+package com.seailz.databaseapi.schema;
+
+import lombok.Data;
+
+/**
+ * A column of a table, as reported by the driver's {@link java.sql.DatabaseMetaData}
+ *
+ * @author Seailz
+ */
+@Data
+public class ColumnSchema {
+
+    private final String name;
+    /**
+     * The database's own name for the type, such as {@code VARCHAR}
+     */
+    private final String typeName;
+    /**
+     * The type as one of {@link java.sql.Types}
+     */
+    private final int sqlType;
+    private final int size;
+    private final boolean nullable;
+    private final String defaultValue;
+    private final boolean autoIncrement;
+    private final boolean primaryKey;
+}
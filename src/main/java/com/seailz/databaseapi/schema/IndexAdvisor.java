@@ -0,0 +1,94 @@
+package com.seailz.databaseapi.schema;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts which columns rows are looked up by, and suggests indexes for the ones that aren't indexed.
+ * <p></p>
+ * <p>Set one with {@link com.seailz.databaseapi.Database#setIndexAdvisor(IndexAdvisor)}. Every keyed read, update</p>
+ * <p>and delete is then recorded. Recording only bumps a counter, so it's cheap enough to leave on.</p>
+ * <pre>
+ *     db.setIndexAdvisor(new IndexAdvisor());
+ *     ...
+ *     db.adviseIndexes().forEach(System.out::println);
+ *     db.createAdvisedIndexes();
+ * </pre>
+ *
+ * @author Seailz
+ */
+public class IndexAdvisor {
+
+    /**
+     * How many lookups a column needs before an index is suggested for it
+     */
+    @Getter
+    @Setter
+    private long minLookups = 100;
+
+    private final Map<String, Map<String, LongAdder>> lookups = new ConcurrentHashMap<>();
+
+    /**
+     * Record a lookup
+     *
+     * @param table  The table that was read
+     * @param column The column rows were looked up by
+     */
+    public void record(@NotNull String table, @NotNull String column) {
+        lookups.computeIfAbsent(table, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(column, key -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * @param table  The table that was read
+     * @param column The column rows were looked up by
+     * @return how many lookups were recorded
+     */
+    public long getLookups(@NotNull String table, @NotNull String column) {
+        Map<String, LongAdder> columns = lookups.get(table);
+        LongAdder count = columns == null ? null : columns.get(column);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Find the columns that were looked up at least {@link #getMinLookups()} times, but that no index starts with
+     *
+     * @param catalog Where the tables' indexes are read from
+     * @return the suggestions, the most looked up first
+     * @throws SQLException if a table's indexes could not be read
+     */
+    @NotNull
+    public List<IndexSuggestion> getSuggestions(@NotNull SchemaCatalog catalog) throws SQLException {
+        List<IndexSuggestion> suggestions = new ArrayList<>();
+        for (Map.Entry<String, Map<String, LongAdder>> table : lookups.entrySet()) {
+            TableSchema schema = catalog.getTable(table.getKey());
+            if (schema == null)
+                continue;
+
+            for (Map.Entry<String, LongAdder> column : table.getValue().entrySet()) {
+                long count = column.getValue().sum();
+                if (count >= minLookups && schema.hasColumn(column.getKey()) && !schema.isIndexed(column.getKey()))
+                    suggestions.add(new IndexSuggestion(schema.getName(), column.getKey(), count));
+            }
+        }
+        suggestions.sort(Comparator.comparingLong(IndexSuggestion::getLookups).reversed());
+        return suggestions;
+    }
+
+    /**
+     * Forget every recorded lookup
+     */
+    public void reset() {
+        lookups.clear();
+    }
+}
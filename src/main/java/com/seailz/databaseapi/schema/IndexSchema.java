@@ -0,0 +1,21 @@
+package com.seailz.databaseapi.schema;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * An index of a table, as reported by the driver's {@link java.sql.DatabaseMetaData}
+ *
+ * @author Seailz
+ */
+@Data
+public class IndexSchema {
+
+    private final String name;
+    private final boolean unique;
+    /**
+     * The indexed columns, in order
+     */
+    private final List<String> columns;
+}
@@ -0,0 +1,30 @@
+package com.seailz.databaseapi.schema;
+
+import com.seailz.databaseapi.Index;
+import lombok.Data;
+
+import java.util.Collections;
+
+/**
+ * A column that's often looked up by, but isn't indexed
+ *
+ * @author Seailz
+ * @see IndexAdvisor
+ */
+@Data
+public class IndexSuggestion {
+
+    private final String table;
+    private final String column;
+    /**
+     * How many lookups by the column were recorded
+     */
+    private final long lookups;
+
+    /**
+     * @return an index on the column
+     */
+    public Index toIndex() {
+        return new Index(Collections.singletonList(column));
+    }
+}
@@ -0,0 +1,216 @@
+package com.seailz.databaseapi.schema;
+
+import com.seailz.databaseapi.Database;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which tables exist and what their columns are, so existence checks and column lookups
+ * don't have to ask the server every time.
+ * <p></p>
+ * <p>A table is loaded from {@link DatabaseMetaData} the first time it's asked about, including tables that</p>
+ * <p>don't exist, and loaded again once it's older than {@link #getTtl()} milliseconds. {@link Database} forgets a table</p>
+ * <p>whenever it changes its schema. Call {@link #invalidate(String)} or {@link #clear()} after changing it some other way.</p>
+ *
+ * @author Seailz
+ */
+public class SchemaCatalog {
+
+    private final Database database;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * Bumped on every invalidation, so a load that raced with one doesn't keep the old schema around
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * How long a table's schema is trusted, in milliseconds. 0 asks the server every time.
+     */
+    @Getter
+    @Setter
+    private long ttl = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * @param database The database the schema is read from
+     */
+    public SchemaCatalog(@NotNull Database database) {
+        this.database = database;
+    }
+
+    /**
+     * @param table The table you'd like to check
+     * @return whether the table exists
+     * @throws SQLException if the schema could not be read
+     */
+    public boolean tableExists(@NotNull String table) throws SQLException {
+        return getTable(table) != null;
+    }
+
+    /**
+     * @param table The table you'd like to look up
+     * @return the table's schema, or null if it doesn't exist
+     * @throws SQLException if the schema could not be read
+     */
+    @Nullable
+    public TableSchema getTable(@NotNull String table) throws SQLException {
+        String name = table.toLowerCase();
+        Entry entry = entries.get(name);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt < ttl)
+            return entry.schema;
+
+        long loadVersion = version.get();
+        Entry loaded = new Entry(database.withConnection(connection -> load(connection, table)), System.currentTimeMillis());
+        if (ttl > 0) {
+            entries.put(name, loaded);
+            // Something was invalidated while loading, the schema may already be out of date
+            if (version.get() != loadVersion)
+                entries.remove(name, loaded);
+        }
+        return loaded.schema;
+    }
+
+    /**
+     * @param table  The table the column is in
+     * @param column The column you'd like to look up
+     * @return the column's schema, or null if the table or the column doesn't exist
+     * @throws SQLException if the schema could not be read
+     */
+    @Nullable
+    public ColumnSchema getColumn(@NotNull String table, @NotNull String column) throws SQLException {
+        TableSchema schema = getTable(table);
+        return schema == null ? null : schema.getColumn(column);
+    }
+
+    /**
+     * Forget a table's schema, so it's read again the next time it's needed
+     *
+     * @param table The table that changed
+     */
+    public void invalidate(@NotNull String table) {
+        version.incrementAndGet();
+        entries.remove(table.toLowerCase());
+    }
+
+    /**
+     * Forget every table's schema
+     */
+    public void clear() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    @Nullable
+    private static TableSchema load(@NotNull Connection connection, @NotNull String table) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+
+        // Metadata lookups take patterns, where '_' matches any character, so only keep the table that was asked for
+        Map<String, List<String[]>> tables = new LinkedHashMap<>();
+        try (ResultSet resultSet = meta.getColumns(null, null, table, null)) {
+            while (resultSet.next()) {
+                String name = resultSet.getString("TABLE_NAME");
+                if (!name.equalsIgnoreCase(table))
+                    continue;
+                tables.computeIfAbsent(name, key -> new ArrayList<>()).add(new String[]{
+                        resultSet.getString("COLUMN_NAME"),
+                        resultSet.getString("TYPE_NAME"),
+                        resultSet.getString("DATA_TYPE"),
+                        resultSet.getString("COLUMN_SIZE"),
+                        resultSet.getString("NULLABLE"),
+                        resultSet.getString("COLUMN_DEF"),
+                        resultSet.getString("IS_AUTOINCREMENT")
+                });
+            }
+        }
+        if (tables.isEmpty())
+            return null;
+
+        String found = tables.containsKey(table) ? table : tables.keySet().iterator().next();
+        List<String[]> rows = tables.get(found);
+
+        List<String> primaryKey = new ArrayList<>();
+        List<Short> keyOrder = new ArrayList<>();
+        try (ResultSet resultSet = meta.getPrimaryKeys(null, null, found)) {
+            while (resultSet.next()) {
+                short sequence = resultSet.getShort("KEY_SEQ");
+                int index = 0;
+                while (index < keyOrder.size() && keyOrder.get(index) < sequence) {
+                    index++;
+                }
+                keyOrder.add(index, sequence);
+                primaryKey.add(index, resultSet.getString("COLUMN_NAME"));
+            }
+        }
+
+        List<ColumnSchema> columns = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            columns.add(new ColumnSchema(
+                    row[0],
+                    row[1],
+                    parseInt(row[2]),
+                    parseInt(row[3]),
+                    parseInt(row[4]) != DatabaseMetaData.columnNoNulls,
+                    row[5],
+                    "YES".equalsIgnoreCase(row[6]),
+                    containsIgnoreCase(primaryKey, row[0])
+            ));
+        }
+        Map<String, IndexSchema> indexes = new LinkedHashMap<>();
+        try (ResultSet resultSet = meta.getIndexInfo(null, null, found, false, true)) {
+            while (resultSet.next()) {
+                String name = resultSet.getString("INDEX_NAME");
+                String column = resultSet.getString("COLUMN_NAME");
+                if (name == null || column == null || resultSet.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic)
+                    continue;
+                // Rows come ordered by index, then by position in the index
+                IndexSchema index = indexes.get(name);
+                if (index == null) {
+                    index = new IndexSchema(name, !resultSet.getBoolean("NON_UNIQUE"), new ArrayList<>());
+                    indexes.put(name, index);
+                }
+                index.getColumns().add(column);
+            }
+        }
+        return new TableSchema(found, columns, primaryKey, new ArrayList<>(indexes.values()));
+    }
+
+    private static int parseInt(@Nullable String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value))
+                return true;
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        @Nullable
+        private final TableSchema schema;
+        private final long loadedAt;
+
+        private Entry(@Nullable TableSchema schema, long loadedAt) {
+            this.schema = schema;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.seailz.databaseapi.schema;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The columns and primary key of a table
+ *
+ * @author Seailz
+ */
+@Getter
+public class TableSchema {
+
+    private final String name;
+    /**
+     * The columns, in the order {@code SELECT *} returns them
+     */
+    private final List<ColumnSchema> columns;
+    /**
+     * The columns of the primary key, in key order
+     */
+    private final List<String> primaryKey;
+    /**
+     * The table's indexes, including the ones the database made for its keys
+     */
+    private final List<IndexSchema> indexes;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, ColumnSchema> byName = new LinkedHashMap<>();
+
+    public TableSchema(@NotNull String name, @NotNull List<ColumnSchema> columns, @NotNull List<String> primaryKey, @NotNull List<IndexSchema> indexes) {
+        this.name = name;
+        this.columns = Collections.unmodifiableList(columns);
+        this.primaryKey = Collections.unmodifiableList(primaryKey);
+        this.indexes = Collections.unmodifiableList(indexes);
+        for (ColumnSchema column : columns) {
+            byName.put(column.getName().toLowerCase(), column);
+        }
+    }
+
+    /**
+     * Look up a column. Names are matched ignoring case, the way MySQL and SQLite match them.
+     *
+     * @param name The name of the column
+     * @return the column, or null if the table doesn't have it
+     */
+    @Nullable
+    public ColumnSchema getColumn(@NotNull String name) {
+        return byName.get(name.toLowerCase());
+    }
+
+    /**
+     * @param name The name of the column
+     * @return whether the table has the column
+     */
+    public boolean hasColumn(@NotNull String name) {
+        return getColumn(name) != null;
+    }
+
+    /**
+     * Check whether lookups on a column can use an index, which is when the column is the first one
+     * of the primary key or of an index
+     *
+     * @param column The column you'd like to look up by
+     * @return whether an index starts with the column
+     */
+    public boolean isIndexed(@NotNull String column) {
+        if (!primaryKey.isEmpty() && primaryKey.get(0).equalsIgnoreCase(column))
+            return true;
+        for (IndexSchema index : indexes) {
+            if (!index.getColumns().isEmpty() && index.getColumns().get(0).equalsIgnoreCase(column))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,302 @@
+package com.seailz.databaseapi.session;
+
+import com.seailz.databaseapi.Database;
+import com.seailz.databaseapi.cache.EntityCache;
+import com.seailz.databaseapi.mapping.EntityMetadata;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A unit of work that remembers the objects it loaded, and writes back only what changed.
+ * <p></p>
+ * <p>Open one with {@link Database#openSession()}:</p>
+ * <pre>
+ *     try (Session session = db.openSession()) {
+ *         Player player = session.get("players", "name", "Seailz", Player.class);
+ *         player.setXp(player.getXp() + 10);
+ *         session.flush(); // UPDATE `players` SET `xp` = ? WHERE `name` = ?
+ *     }
+ * </pre>
+ * <p>When an object is loaded, the values of its saved fields are copied. {@link #flush()} compares every object</p>
+ * <p>with its copy and sends one {@code UPDATE} per changed object, setting only the columns that changed.</p>
+ * <p>All of a flush's updates are batched in one transaction.</p>
+ * <p></p>
+ * <p>Fields are compared with {@link Object#equals(Object)}, so give a field a new value instead of changing</p>
+ * <p>the object it holds. A session isn't thread safe, it's meant to be used by one thread at a time.</p>
+ * <p>Objects are always read from the database, never from the {@link com.seailz.databaseapi.cache.EntityCache},</p>
+ * <p>so changes stay private to the session until they're flushed.</p>
+ *
+ * @author Seailz
+ */
+public class Session implements AutoCloseable {
+
+    @Getter
+    private final Database database;
+    private final Map<List<Object>, Tracked> byRow = new LinkedHashMap<>();
+    private final Map<Object, Tracked> byObject = new IdentityHashMap<>();
+
+    /**
+     * Create a session. Prefer {@link Database#openSession()}.
+     *
+     * @param database The database the session reads from and writes to
+     */
+    public Session(@NotNull Database database) {
+        this.database = database;
+    }
+
+    /**
+     * Read a {@code Java Object} and start tracking it. Reading the same row again in this session
+     * returns the same object, with any changes made to it.
+     *
+     * @param table The table you'd like to read from
+     * @param key   The column that identifies the row
+     * @param value The value of that column
+     * @param clazz The class you'd like to read into
+     * @param <T>   The type of the object
+     * @return The object, or null if no row matched
+     * @throws SQLException              if there is an error communicating with the database
+     * @throws IllegalAccessException    if there is an error accessing the object
+     * @throws InstantiationException    if there is an error instantiating the object
+     * @throws InvocationTargetException if there is an error invoking the object
+     * @see Database#get(String, String, String, Class)
+     */
+    @Nullable
+    public <T> T get(@NotNull String table, @NotNull String key, @NotNull String value, @NotNull Class<T> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        Tracked tracked = byRow.get(Arrays.asList(table, key, value));
+        if (tracked != null)
+            return clazz.cast(tracked.object);
+
+        T object = database.getUncached(table, key, value, clazz);
+        if (object == null)
+            return null;
+        return clazz.cast(track(table, key, value, object));
+    }
+
+    /**
+     * Read the {@code Java Objects} for many keys and start tracking them
+     *
+     * @param table  The table you'd like to read from
+     * @param key    The column that identifies a row
+     * @param values The values of that column
+     * @param clazz  The class you'd like to read into
+     * @param <T>    The type of the objects
+     * @return The objects that were found, by their key
+     * @throws SQLException              if there is an error communicating with the database
+     * @throws IllegalAccessException    if there is an error accessing the object
+     * @throws InstantiationException    if there is an error instantiating the object
+     * @throws InvocationTargetException if there is an error invoking the object
+     * @see Database#getMany(String, String, java.util.Collection, Class)
+     */
+    public <T> Map<String, T> getMany(@NotNull String table, @NotNull String key, @NotNull Collection<String> values, @NotNull Class<T> clazz) throws SQLException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        List<String> missing = new ArrayList<>();
+        for (String value : values) {
+            if (!byRow.containsKey(Arrays.asList(table, key, value)))
+                missing.add(value);
+        }
+
+        Map<String, T> read = missing.isEmpty() ? Collections.emptyMap() : database.getManyUncached(table, key, missing, clazz);
+        Map<String, T> objects = new LinkedHashMap<>();
+        for (String value : values) {
+            Tracked tracked = byRow.get(Arrays.asList(table, key, value));
+            if (tracked != null)
+                objects.put(value, clazz.cast(tracked.object));
+            else if (read.containsKey(value))
+                objects.put(value, clazz.cast(track(table, key, value, read.get(value))));
+        }
+        return objects;
+    }
+
+    /**
+     * Start tracking an object that was read some other way. Its current values are taken as
+     * the values in the database.
+     * <p></p>
+     * <p>If the object came from {@link Database#get(String, String, String, Class)}, it may be the cached instance.</p>
+     * <p>The table's cached objects are then dropped when the session is cleared or closed with changes left</p>
+     * <p>unflushed, so the cache doesn't keep values that were never written.</p>
+     *
+     * @param table  The table the object was read from
+     * @param key    The column that identifies its row
+     * @param object The object you'd like to track
+     * @param <T>    The type of the object
+     * @return the tracked object, which is a different instance if this session already tracks the same row
+     * @throws IllegalArgumentException if the object doesn't save the key column
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T attach(@NotNull String table, @NotNull String key, @NotNull T object) {
+        Object value = EntityMetadata.of(object.getClass()).row(object).get(key);
+        if (value == null)
+            throw new IllegalArgumentException(object.getClass().getName() + " does not have a value for the key column " + key);
+
+        Tracked tracked = byRow.get(Arrays.asList(table, key, value.toString()));
+        if (tracked != null)
+            return (T) tracked.object;
+        T attached = (T) track(table, key, value.toString(), object);
+        byObject.get(attached).attached = true;
+        return attached;
+    }
+
+    /**
+     * Stop tracking an object, so its changes won't be flushed
+     *
+     * @param object The object you'd like to forget
+     */
+    public void detach(@NotNull Object object) {
+        Tracked tracked = byObject.remove(object);
+        if (tracked != null)
+            byRow.remove(Arrays.asList(tracked.table, tracked.key, tracked.value));
+    }
+
+    /**
+     * Check which columns of a tracked object have changed since it was read or last flushed
+     *
+     * @param object The tracked object
+     * @return the changed columns and their new values, empty if nothing changed
+     * @throws IllegalArgumentException if the object isn't tracked by this session
+     */
+    public Map<String, Object> getChanges(@NotNull Object object) {
+        Tracked tracked = byObject.get(object);
+        if (tracked == null)
+            throw new IllegalArgumentException("The object is not tracked by this session");
+        return tracked.changes();
+    }
+
+    /**
+     * @param object The tracked object
+     * @return whether any of its columns have changed since it was read or last flushed
+     */
+    public boolean isDirty(@NotNull Object object) {
+        return !getChanges(object).isEmpty();
+    }
+
+    /**
+     * @return the amount of objects this session tracks
+     */
+    public int size() {
+        return byObject.size();
+    }
+
+    /**
+     * Write the changes of every tracked object, in one transaction.
+     * If this thread is already in a transaction, the updates join it.
+     *
+     * @return the amount of objects that were updated
+     * @throws SQLException if there is an error, in which case nothing is written
+     */
+    public int flush() throws SQLException {
+        // Updates are grouped by table and key, and updateBatch shares a statement between rows setting the same columns
+        Map<List<String>, List<Map<String, Object>>> updates = new LinkedHashMap<>();
+        Map<Tracked, LinkedHashMap<String, Object>> flushed = new IdentityHashMap<>();
+        for (Tracked tracked : byObject.values()) {
+            LinkedHashMap<String, Object> current = EntityMetadata.of(tracked.object.getClass()).row(tracked.object);
+            Map<String, Object> changes = tracked.changes(current);
+            if (changes.isEmpty()) continue;
+
+            if (changes.containsKey(tracked.key))
+                throw new IllegalStateException("Changing the key column " + tracked.key + " of a tracked object is not supported");
+
+            Map<String, Object> row = new LinkedHashMap<>(changes);
+            row.put(tracked.key, tracked.value);
+            updates.computeIfAbsent(Arrays.asList(tracked.table, tracked.key), group -> new ArrayList<>()).add(row);
+            flushed.put(tracked, current);
+        }
+
+        if (updates.isEmpty())
+            return 0;
+
+        database.withTransaction(connection -> {
+            for (Map.Entry<List<String>, List<Map<String, Object>>> group : updates.entrySet()) {
+                database.updateBatch(group.getKey().get(0), group.getKey().get(1), group.getValue());
+            }
+            return null;
+        });
+
+        flushed.forEach((tracked, current) -> tracked.snapshot = copy(current));
+        return flushed.size();
+    }
+
+    /**
+     * Stop tracking every object. Changes that haven't been flushed are discarded.
+     */
+    public void clear() {
+        EntityCache cache = database.getCache();
+        if (cache != null) {
+            for (Tracked tracked : byObject.values()) {
+                if (tracked.attached && !tracked.changes().isEmpty())
+                    cache.invalidate(tracked.table);
+            }
+        }
+
+        byRow.clear();
+        byObject.clear();
+    }
+
+    /**
+     * Close the session, discarding changes that haven't been flushed
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    private Object track(String table, String key, String value, Object object) {
+        Tracked tracked = new Tracked(table, key, value, object, copy(EntityMetadata.of(object.getClass()).row(object)));
+        byRow.put(Arrays.asList(table, key, value), tracked);
+        byObject.put(object, tracked);
+        return object;
+    }
+
+    /**
+     * Copies the arrays of a row, so changing an array field in place still shows up as a change
+     */
+    private static LinkedHashMap<String, Object> copy(LinkedHashMap<String, Object> row) {
+        row.replaceAll((column, value) -> value instanceof byte[] ? ((byte[]) value).clone() : value);
+        return row;
+    }
+
+    private static final class Tracked {
+
+        private final String table;
+        private final String key;
+        private final String value;
+        private final Object object;
+        private LinkedHashMap<String, Object> snapshot;
+        /**
+         * Whether the object was attached rather than read by the session, so it may be shared with the cache
+         */
+        private boolean attached;
+
+        private Tracked(String table, String key, String value, Object object, LinkedHashMap<String, Object> snapshot) {
+            this.table = table;
+            this.key = key;
+            this.value = value;
+            this.object = object;
+            this.snapshot = snapshot;
+        }
+
+        Map<String, Object> changes() {
+            return changes(EntityMetadata.of(object.getClass()).row(object));
+        }
+
+        Map<String, Object> changes(Map<String, Object> current) {
+            Map<String, Object> changes = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> column : current.entrySet()) {
+                if (!Objects.deepEquals(column.getValue(), snapshot.get(column.getKey())))
+                    changes.put(column.getKey(), column.getValue());
+            }
+            return changes;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.seailz.databaseapi;
+
+import com.seailz.databaseapi.annotation.builder.TableBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class IndexTest {
+
+    private File file;
+    private Database database;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("database4j-test", ".db");
+        database = new Database(file);
+        database.connect();
+    }
+
+    @After
+    public void tearDown() {
+        database.disconnect();
+        file.delete();
+    }
+
+    @Test
+    public void uniqueIndexWithIncludedColumnsRejectsDuplicateKeys() throws SQLException {
+        Index index = new Index(Collections.singletonList("email"));
+        index.setUnique(true);
+        index.setInclude(Collections.singletonList("name"));
+
+        TableBuilder table = new TableBuilder("players", new ArrayList<>());
+        table.addColumn(new Column(ColumnType.VARCHAR, "email"));
+        table.addColumn(new Column(ColumnType.VARCHAR, "name"));
+        table.addIndex(index);
+        database.createTable(table);
+
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO players (email, name) VALUES ('seailz@example.com', 'Seailz')");
+            assertThrows(SQLException.class,
+                    () -> statement.execute("INSERT INTO players (email, name) VALUES ('seailz@example.com', 'Someone else')"));
+        }
+        assertEquals(1, database.countRows("players"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.seailz.databaseapi.buffer;
+
+import com.seailz.databaseapi.Database;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class WriteBehindBufferTest {
+
+    private File file;
+    private Database database;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        file = File.createTempFile("database4j-test", ".db");
+        database = new Database(file);
+        // Only flush when asked, so every write lands in the same flush
+        database.getWriteBehindSettings().flushInterval(60_000);
+        database.connect();
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE stats (name VARCHAR(16) PRIMARY KEY, kills INT, deaths INT)");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        database.disconnect();
+        file.delete();
+    }
+
+    @Test
+    public void upsertAfterUpdateOfMissingRowOnlyInsertsItsOwnColumns() throws Exception {
+        WriteBehindBuffer buffer = database.writeBehind();
+        buffer.update("stats", "name", "Seailz", Collections.singletonMap("kills", 12));
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", "Seailz");
+        row.put("deaths", 3);
+        buffer.upsert("stats", row, "name");
+        buffer.flush().get();
+
+        // The update ran first and found no row, so kills is never set
+        assertEquals(Arrays.asList(null, 3), read("Seailz"));
+    }
+
+    @Test
+    public void updateAfterUpsertIsMerged() throws Exception {
+        WriteBehindBuffer buffer = database.writeBehind();
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", "Seailz");
+        row.put("deaths", 3);
+        buffer.upsert("stats", row, "name");
+        buffer.update("stats", "name", "Seailz", Collections.singletonMap("kills", 12));
+        buffer.flush().get();
+
+        assertEquals(1, buffer.getCoalesced());
+        assertEquals(Arrays.asList(12, 3), read("Seailz"));
+    }
+
+    private List<Object> read(String name) throws SQLException {
+        return database.query("SELECT kills, deaths FROM stats WHERE name = ?",
+                (result, number) -> Arrays.asList(result.getObject("kills"), result.getObject("deaths")), name).get(0);
+    }
+}
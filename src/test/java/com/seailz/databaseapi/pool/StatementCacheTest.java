@@ -0,0 +1,61 @@
+package com.seailz.databaseapi.pool;
+
+import com.seailz.databaseapi.annotation.builder.PoolBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatementCacheTest {
+
+    private ConnectionPool pool;
+
+    @Before
+    public void setUp() throws SQLException {
+        // One connection, so every borrow gets the same statement cache
+        pool = new ConnectionPool(new PoolBuilder().minSize(1).maxSize(1), () -> DriverManager.getConnection("jdbc:sqlite::memory:"));
+        try (Connection connection = pool.borrow(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE players (name TEXT)");
+            statement.execute("INSERT INTO players VALUES ('a'), ('b'), ('c')");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void settingsDontLeakIntoTheNextBorrow() throws SQLException {
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM players")) {
+            statement.setMaxRows(1);
+            statement.setQueryTimeout(5);
+            assertEquals(1, count(statement));
+        }
+
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM players")) {
+            assertEquals(0, statement.getMaxRows());
+            assertEquals(0, statement.getQueryTimeout());
+            assertEquals(3, count(statement));
+        }
+        assertEquals(1, pool.getStatementHits().get());
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) rows++;
+        }
+        return rows;
+    }
+}